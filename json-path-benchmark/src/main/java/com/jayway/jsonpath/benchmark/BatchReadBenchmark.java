@@ -0,0 +1,106 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.JsonPathBatch;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading a set of paths sharing prefixes one at a time with reading them as a {@link JsonPathBatch}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchReadBenchmark {
+
+    private static final String[] PATHS = {
+            "$.performances[*].id",
+            "$.performances[*].eventId",
+            "$.performances[*].start",
+            "$.performances[*].venueCode",
+            "$.performances[*].logo",
+            "$.performances[*].name",
+            "$.performances[*].seatCategories[*].seatCategoryId",
+            "$.performances[*].seatCategories[*].areas[*].areaId",
+            "$.performances[*].prices[*].amount",
+            "$.performances[*].prices[*].audienceSubCategoryId",
+            "$.performances[0].id",
+            "$.performances[1:10].start",
+            "$.events['138586341'].name",
+            "$.events['138586341'].subTopicIds",
+            "$.events['138586341'].topicIds",
+            "$.venueNames.PLEYEL_PLEYEL",
+            "$.areaNames['205705993']",
+            "$.audienceSubCategoryNames['337100890']",
+            "$.seatCategoryNames['338937295']",
+            "$.topicNames['107888604']"
+    };
+
+    private byte[] json;
+    private Object document;
+    private JsonPath[] paths;
+    private JsonPathBatch batch;
+    private Configuration configuration;
+
+    @Setup
+    public void setUp() throws UnsupportedEncodingException {
+        configuration = Configuration.defaultConfiguration();
+        String corpus = Documents.load(Documents.CITM_CATALOG);
+        json = corpus.getBytes("UTF-8");
+        document = configuration.jsonProvider().parse(corpus);
+        paths = new JsonPath[PATHS.length];
+        for (int i = 0; i < PATHS.length; i++) {
+            paths[i] = JsonPath.compile(PATHS[i]);
+        }
+        batch = JsonPath.compileBatch(PATHS);
+    }
+
+    @Benchmark
+    public void readEach(Blackhole blackhole) {
+        for (JsonPath path : paths) {
+            blackhole.consume(path.read(document, configuration));
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> readBatch() {
+        return batch.read(document, configuration);
+    }
+
+    @Benchmark
+    public Map<String, Object> readBatchStream() {
+        return batch.readStream(new ByteArrayInputStream(json), configuration);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.cache.Cache;
+import com.jayway.jsonpath.spi.cache.ClockCache;
+import com.jayway.jsonpath.spi.cache.LRUCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures path cache lookups from many threads, as done by {@link com.jayway.jsonpath.ReadContext#read(String, com.jayway.jsonpath.Predicate...)}.
+ * Most lookups hit a small set of hot paths, the rest are spread over more paths than the cache holds so
+ * that entries are evicted. The thread count can be changed with <code>-t</code>.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(16)
+@Fork(1)
+public class CacheContentionBenchmark {
+
+    private static final int LIMIT = 400;
+    private static final int HOT_KEYS = 50;
+    private static final int KEYS = 1000;
+
+    @Param({"LRU", "CLOCK"})
+    public String cacheType;
+
+    private Cache cache;
+    private String[] keys;
+    private JsonPath path;
+
+    @Setup
+    public void setUp() {
+        cache = "LRU".equals(cacheType) ? new LRUCache(LIMIT) : new ClockCache(LIMIT);
+        path = JsonPath.compile("$.store.book[*].author");
+        keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "$.store.book[" + i + "].author";
+            if (i < LIMIT) {
+                cache.put(keys[i], path);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Lookups {
+        private final Random random = new Random();
+
+        String next(String[] keys) {
+            // 90% of the lookups go to the hot paths
+            int bound = random.nextInt(10) == 0 ? keys.length : HOT_KEYS;
+            return keys[random.nextInt(bound)];
+        }
+    }
+
+    @Benchmark
+    public JsonPath getOrPut(Lookups lookups) {
+        String key = lookups.next(keys);
+        JsonPath jsonPath = cache.get(key);
+        if (jsonPath == null) {
+            jsonPath = path;
+            cache.put(key, jsonPath);
+        }
+        return jsonPath;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.spi.json.GsonJsonProvider;
+import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
+import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
+import com.jayway.jsonpath.spi.json.JsonOrgJsonProvider;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
+import com.jayway.jsonpath.spi.json.TapestryJsonProvider;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+
+/**
+ * Access to the json corpora and the json providers used by the benchmarks.
+ */
+public final class Documents {
+
+    public static final String DOCUMENT_20K = "20k.json";
+    public static final String CITM_CATALOG = "citm_catalog.json";
+    public static final String TWITTER = "twitter.json";
+
+    private Documents() {
+    }
+
+    /**
+     * Loads one of the bundled corpora from the classpath
+     *
+     * @param name resource name, e.g. {@link #CITM_CATALOG}
+     * @return the document as string
+     */
+    public static String load(String name) {
+        InputStream stream = Documents.class.getResourceAsStream("/" + name);
+        if (stream == null) {
+            throw new IllegalArgumentException("Corpus not found on classpath: " + name);
+        }
+        try {
+            Reader reader = new InputStreamReader(stream, "UTF-8");
+            StringBuilder sb = new StringBuilder();
+            char[] buffer = new char[8192];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                sb.append(buffer, 0, read);
+            }
+            return sb.toString();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read corpus " + name, e);
+        } finally {
+            try {
+                stream.close();
+            } catch (IOException ignore) {
+            }
+        }
+    }
+
+    /**
+     * Creates the json provider registered under the given name. Names are used
+     * as benchmark parameters: json-smart, jackson, jackson-json-node, gson, json-org and tapestry.
+     *
+     * @param name provider name
+     * @return a json provider
+     */
+    public static JsonProvider provider(String name) {
+        if ("json-smart".equals(name)) {
+            return new JsonSmartJsonProvider();
+        } else if ("jackson".equals(name)) {
+            return new JacksonJsonProvider();
+        } else if ("jackson-json-node".equals(name)) {
+            return new JacksonJsonNodeJsonProvider();
+        } else if ("gson".equals(name)) {
+            return new GsonJsonProvider();
+        } else if ("json-org".equals(name)) {
+            return new JsonOrgJsonProvider();
+        } else if ("tapestry".equals(name)) {
+            return TapestryJsonProvider.INSTANCE;
+        }
+        throw new IllegalArgumentException("Unknown json provider: " + name);
+    }
+
+    /**
+     * @param providerName provider name, see {@link #provider(String)}
+     * @return a configuration using the named json provider
+     */
+    public static Configuration configuration(String providerName) {
+        return Configuration.builder().jsonProvider(provider(providerName)).build();
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Filter;
+import com.jayway.jsonpath.internal.filter.FilterCompiler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link FilterCompiler#compile(String)} for the different kinds of filter expressions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterCompilerBenchmark {
+
+    @Param({
+            "[?(@.age > 30)]",
+            "[?(@.name == 'Amy Guerra')]",
+            "[?(@.age > 30 && @.isActive == true || @.gender == 'female')]",
+            "[?(@.email =~ /.*@comtrail\\.com/i)]",
+            "[?(@.tags in ['enim', 'culpa', 'duis'])]",
+            "[?(@.friends[?(@.name == 'Shawn Holman')] empty false)]",
+            "[?(@.balance)]"
+    })
+    public String filter;
+
+    @Benchmark
+    public Filter compile() {
+        return FilterCompiler.compile(filter);
+    }
+}
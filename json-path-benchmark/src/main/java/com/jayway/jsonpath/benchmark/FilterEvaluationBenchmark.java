@@ -0,0 +1,86 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures applying a filter to every element of a large array of generated items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterEvaluationBenchmark {
+
+    private static final int ITEMS = 100000;
+
+    @Param({
+            "$[?(@.price < 10)]",
+            "$[?(@.quantity >= 50)]",
+            "$[?(@.category == 'fiction')]",
+            "$[?(@.price < 10 && @.quantity >= 50)]",
+            "$[?(@.price > @.quantity)]"
+    })
+    public String path;
+
+    private Object document;
+    private JsonPath jsonPath;
+    private Configuration configuration;
+
+    @Setup
+    public void setUp() {
+        configuration = Configuration.defaultConfiguration();
+        jsonPath = JsonPath.compile(path);
+
+        Random random = new Random(42);
+        String[] categories = {"fiction", "reference", "poetry"};
+        List<Object> items = new ArrayList<Object>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            Map<String, Object> item = new LinkedHashMap<String, Object>();
+            item.put("price", random.nextInt(2000) / 100.0);
+            item.put("quantity", random.nextInt(100));
+            item.put("category", categories[random.nextInt(categories.length)]);
+            items.add(item);
+        }
+        document = items;
+    }
+
+    @Benchmark
+    public Object filter() {
+        return jsonPath.read(document, configuration);
+    }
+}
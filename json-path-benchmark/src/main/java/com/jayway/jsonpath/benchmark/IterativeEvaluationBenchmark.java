@@ -0,0 +1,115 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the recursive evaluation with {@link Option#ITERATIVE_EVALUATION} on a deeply nested document and
+ * on a wide one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IterativeEvaluationBenchmark {
+
+    // deep enough to matter, shallow enough for the recursive evaluation
+    private static final int DEPTH = 1000;
+
+    @Param({"recursive", "iterative"})
+    public String engine;
+
+    private Configuration configuration;
+    private Object nested;
+    private Object wide;
+
+    private final JsonPath nestedScan = JsonPath.compile("$..id");
+    private final JsonPath nestedProperties = JsonPath.compile(nestedPath(50));
+    private final JsonPath wideScan = JsonPath.compile("$..areaId");
+    private final JsonPath wideWildcard = JsonPath.compile("$.performances[*].seatCategories[*].areas[*].areaId");
+    private final JsonPath wideFilter = JsonPath.compile("$.performances[?(@.logo)].id");
+
+    @Setup
+    public void setUp() {
+        configuration = Configuration.defaultConfiguration();
+        if ("iterative".equals(engine)) {
+            configuration = configuration.addOptions(Option.ITERATIVE_EVALUATION);
+        }
+        Map<String, Object> root = new LinkedHashMap<String, Object>();
+        Map<String, Object> current = root;
+        for (int i = 0; i < DEPTH; i++) {
+            Map<String, Object> child = new LinkedHashMap<String, Object>();
+            current.put("id", i);
+            current.put("name", "level " + i);
+            current.put("child", child);
+            current = child;
+        }
+        nested = root;
+        wide = configuration.jsonProvider().parse(Documents.load(Documents.CITM_CATALOG));
+    }
+
+    private static String nestedPath(int depth) {
+        StringBuilder sb = new StringBuilder("$");
+        for (int i = 0; i < depth; i++) {
+            sb.append(".child");
+        }
+        return sb.append(".id").toString();
+    }
+
+    @Benchmark
+    public Object nestedScan() {
+        return nestedScan.read(nested, configuration);
+    }
+
+    @Benchmark
+    public Object nestedProperties() {
+        return nestedProperties.read(nested, configuration);
+    }
+
+    @Benchmark
+    public Object wideScan() {
+        return wideScan.read(wide, configuration);
+    }
+
+    @Benchmark
+    public Object wideWildcard() {
+        return wideWildcard.read(wide, configuration);
+    }
+
+    @Benchmark
+    public Object wideFilter() {
+        return wideFilter.read(wide, configuration);
+    }
+}
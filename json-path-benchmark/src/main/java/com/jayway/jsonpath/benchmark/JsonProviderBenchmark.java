@@ -0,0 +1,78 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link com.jayway.jsonpath.spi.json.JsonProvider} implementations on parsing
+ * and on evaluating an indefinite path against a pre-parsed document. The 20k corpus is not used
+ * here since it has an array as root, which not all providers can parse.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonProviderBenchmark {
+
+    @Param({"json-smart", "jackson", "jackson-json-node", "gson", "json-org", "tapestry"})
+    public String provider;
+
+    @Param({Documents.CITM_CATALOG, Documents.TWITTER})
+    public String document;
+
+    private Configuration configuration;
+    private String json;
+    private Object parsed;
+    private JsonPath path;
+
+    @Setup
+    public void setUp() {
+        configuration = Documents.configuration(provider);
+        json = Documents.load(document);
+        parsed = configuration.jsonProvider().parse(json);
+        if (Documents.CITM_CATALOG.equals(document)) {
+            path = JsonPath.compile("$.performances[*].seatCategories[*].areas[*].areaId");
+        } else {
+            path = JsonPath.compile("$.results[*].from_user");
+        }
+    }
+
+    @Benchmark
+    public Object parse() {
+        return configuration.jsonProvider().parse(json);
+    }
+
+    @Benchmark
+    public Object read() {
+        return path.read(parsed, configuration);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.internal.path.PathCompiler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link com.jayway.jsonpath.internal.path.CompiledPath#evaluate(Object, Object, Configuration)}
+ * on pre-parsed documents. Each token parameter selects a path where the named token type does the
+ * bulk of the work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathTokenBenchmark {
+
+    private static final Map<String, Map<String, String>> PATHS = new HashMap<String, Map<String, String>>();
+
+    static {
+        Map<String, String> paths = new HashMap<String, String>();
+        paths.put("property", "$[0]['address']");
+        paths.put("slice", "$[2:18]");
+        paths.put("wildcard", "$[*].name");
+        paths.put("scan", "$..name");
+        paths.put("predicate", "$[?(@.age > 30 && @.isActive == true)]");
+        paths.put("function", "$[0].friends.length()");
+        PATHS.put(Documents.DOCUMENT_20K, paths);
+
+        paths = new HashMap<String, String>();
+        paths.put("property", "$['events']['138586341']['name']");
+        paths.put("slice", "$.performances[10:200]");
+        paths.put("wildcard", "$.performances[*].seatCategories[*].seatCategoryId");
+        paths.put("scan", "$..areaId");
+        paths.put("predicate", "$.performances[?(@.venueCode == 'PLEYEL_PLEYEL')]");
+        paths.put("function", "$.performances.length()");
+        PATHS.put(Documents.CITM_CATALOG, paths);
+
+        paths = new HashMap<String, String>();
+        paths.put("property", "$['results_per_page']");
+        paths.put("slice", "$.results[-5:]");
+        paths.put("wildcard", "$.results[*].from_user");
+        paths.put("scan", "$..result_type");
+        paths.put("predicate", "$.results[?(@.iso_language_code == 'en')]");
+        paths.put("function", "$.results.length()");
+        PATHS.put(Documents.TWITTER, paths);
+    }
+
+    @Param({Documents.DOCUMENT_20K, Documents.CITM_CATALOG, Documents.TWITTER})
+    public String document;
+
+    @Param({"property", "slice", "wildcard", "scan", "predicate", "function"})
+    public String token;
+
+    private Configuration configuration;
+    private Object json;
+    private Path path;
+
+    @Setup
+    public void setUp() {
+        configuration = Configuration.defaultConfiguration();
+        json = configuration.jsonProvider().parse(Documents.load(document));
+        path = PathCompiler.compile(PATHS.get(document).get(token));
+    }
+
+    @Benchmark
+    public EvaluationContext evaluate() {
+        return path.evaluate(json, json, configuration);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parsing a document and evaluating a path on it with evaluating the path directly on the
+ * stream using {@link JsonPath#readStream(java.io.InputStream, Configuration)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamReadBenchmark {
+
+    @Param({
+            "$['events']['138586341']['name']",
+            "$.performances[0].seatCategories[*].seatCategoryId",
+            "$..areaId",
+            "$.performances[?(@.venueCode == 'PLEYEL_PLEYEL')].id"
+    })
+    public String path;
+
+    @Param({"json-smart", "jackson"})
+    public String provider;
+
+    private byte[] json;
+    private JsonPath jsonPath;
+    private Configuration configuration;
+
+    @Setup
+    public void setUp() throws UnsupportedEncodingException {
+        json = Documents.load(Documents.CITM_CATALOG).getBytes("UTF-8");
+        jsonPath = JsonPath.compile(path);
+        configuration = Documents.configuration(provider);
+    }
+
+    @Benchmark
+    public Object parseAndRead() {
+        return jsonPath.read(configuration.jsonProvider().parse(new ByteArrayInputStream(json), "UTF-8"), configuration);
+    }
+
+    @Benchmark
+    public Object readStream() {
+        return jsonPath.readStream(new ByteArrayInputStream(json), configuration);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link DocumentContext} write operations. Every invocation gets a freshly
+ * parsed copy of the 20k corpus so that the operations never run against an already modified document.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WriteBenchmark {
+
+    private String json;
+    private DocumentContext context;
+
+    @Setup(Level.Trial)
+    public void load() {
+        json = Documents.load(Documents.DOCUMENT_20K);
+    }
+
+    @Setup(Level.Invocation)
+    public void parse() {
+        context = JsonPath.parse(json);
+    }
+
+    @Benchmark
+    public DocumentContext set() {
+        return context.set("$[*].isActive", false);
+    }
+
+    @Benchmark
+    public DocumentContext delete() {
+        return context.delete("$[*].friends[?(@.id == 1)]");
+    }
+
+    @Benchmark
+    public DocumentContext add() {
+        return context.add("$[*].tags", "benchmark");
+    }
+
+    @Benchmark
+    public DocumentContext put() {
+        return context.put("$[*].friends[0]", "email", "benchmark@example.com");
+    }
+}
@@ -15,6 +15,7 @@
 package com.jayway.jsonpath;
 
 import com.jayway.jsonpath.internal.DefaultsImpl;
+import com.jayway.jsonpath.spi.cache.Cache;
 import com.jayway.jsonpath.spi.json.JsonProvider;
 import com.jayway.jsonpath.spi.mapper.MappingProvider;
 
@@ -55,8 +56,12 @@ public class Configuration {
     private final MappingProvider mappingProvider;
     private final Set<Option> options;
     private final Collection<EvaluationListener> evaluationListeners;
+    private final Cache cache;
 
-    private Configuration(JsonProvider jsonProvider, MappingProvider mappingProvider, EnumSet<Option> options, Collection<EvaluationListener> evaluationListeners) {
+    // derived configurations, created on first use. Races only create an equal configuration twice
+    private final Configuration[] withOption = new Configuration[Option.values().length];
+
+    private Configuration(JsonProvider jsonProvider, MappingProvider mappingProvider, EnumSet<Option> options, Collection<EvaluationListener> evaluationListeners, Cache cache) {
         notNull(jsonProvider, "jsonProvider can not be null");
         notNull(mappingProvider, "mappingProvider can not be null");
         notNull(options, "setOptions can not be null");
@@ -65,6 +70,7 @@ public class Configuration {
         this.mappingProvider = mappingProvider;
         this.options = Collections.unmodifiableSet(options);
         this.evaluationListeners = Collections.unmodifiableCollection(evaluationListeners);
+        this.cache = cache;
     }
 
     /**
@@ -73,7 +79,7 @@ public class Configuration {
      * @return a new configuration
      */
     public Configuration addEvaluationListeners(EvaluationListener... evaluationListener){
-        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListener).build();
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListener).cache(cache).build();
     }
 
     /**
@@ -82,7 +88,7 @@ public class Configuration {
      * @return a new configuration
      */
     public Configuration setEvaluationListeners(EvaluationListener... evaluationListener){
-        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListener).build();
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListener).cache(cache).build();
     }
 
     /**
@@ -99,7 +105,7 @@ public class Configuration {
      * @return a new configuration
      */
     public Configuration jsonProvider(JsonProvider newJsonProvider) {
-        return Configuration.builder().jsonProvider(newJsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListeners).build();
+        return Configuration.builder().jsonProvider(newJsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListeners).cache(cache).build();
     }
 
     /**
@@ -116,7 +122,7 @@ public class Configuration {
      * @return a new configuration
      */
     public Configuration mappingProvider(MappingProvider newMappingProvider) {
-        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(newMappingProvider).options(options).evaluationListener(evaluationListeners).build();
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(newMappingProvider).options(options).evaluationListener(evaluationListeners).cache(cache).build();
     }
 
     /**
@@ -127,16 +133,51 @@ public class Configuration {
         return mappingProvider;
     }
 
+    /**
+     * Creates a new Configuration caching the paths compiled by contexts using it in the given {@link com.jayway.jsonpath.spi.cache.Cache}
+     * instead of the caches of the {@link com.jayway.jsonpath.spi.cache.CacheProvider}
+     * @param newCache cache to use in new configuration, null to use the cache provider
+     * @return a new configuration
+     */
+    public Configuration cache(Cache newCache) {
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListeners).cache(newCache).build();
+    }
+
+    /**
+     * Returns the {@link com.jayway.jsonpath.spi.cache.Cache} of this configuration
+     * @return cache used, null if the caches of the {@link com.jayway.jsonpath.spi.cache.CacheProvider} are used
+     */
+    public Cache cache() {
+        return cache;
+    }
+
     /**
      * Creates a new configuration by adding the new options to the options used in this configuration.
      * @param options options to add
      * @return a new configuration
      */
     public Configuration addOptions(Option... options) {
+        if (options.length == 1) {
+            return addOption(options[0]);
+        }
         EnumSet<Option> opts = EnumSet.noneOf(Option.class);
         opts.addAll(this.options);
         opts.addAll(asList(options));
-        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(opts).evaluationListener(evaluationListeners).build();
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(opts).evaluationListener(evaluationListeners).cache(cache).build();
+    }
+
+    private Configuration addOption(Option option) {
+        if (this.options.contains(option)) {
+            return this;
+        }
+        Configuration configuration = withOption[option.ordinal()];
+        if (configuration == null) {
+            EnumSet<Option> opts = EnumSet.of(option);
+            opts.addAll(this.options);
+            configuration = Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(opts).evaluationListener(evaluationListeners).cache(cache).build();
+            withOption[option.ordinal()] = configuration;
+        }
+        return configuration;
     }
 
     /**
@@ -145,7 +186,7 @@ public class Configuration {
      * @return
      */
     public Configuration setOptions(Option... options) {
-        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListeners).build();
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListeners).cache(cache).build();
     }
 
     /**
@@ -191,6 +232,7 @@ public class Configuration {
         private MappingProvider mappingProvider;
         private EnumSet<Option> options = EnumSet.noneOf(Option.class);
         private Collection<EvaluationListener> evaluationListener = new ArrayList<EvaluationListener>();
+        private Cache cache;
 
         public ConfigurationBuilder jsonProvider(JsonProvider provider) {
             this.jsonProvider = provider;
@@ -224,6 +266,15 @@ public class Configuration {
             return this;
         }
 
+        /**
+         * Sets the cache of the paths compiled for read and write operations of contexts using the configuration.
+         * If not set the caches of the {@link com.jayway.jsonpath.spi.cache.CacheProvider} are used.
+         */
+        public ConfigurationBuilder cache(Cache cache) {
+            this.cache = cache;
+            return this;
+        }
+
         public Configuration build() {
             if (jsonProvider == null || mappingProvider == null) {
                 final Defaults defaults = getEffectiveDefaults();
@@ -234,7 +285,7 @@ public class Configuration {
                     mappingProvider = defaults.mappingProvider();
                 }
             }
-            return new Configuration(jsonProvider, mappingProvider, options, evaluationListener);
+            return new Configuration(jsonProvider, mappingProvider, options, evaluationListener, cache);
         }
     }
 
@@ -16,11 +16,14 @@ package com.jayway.jsonpath;
 
 
 import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.IndexedReads;
 import com.jayway.jsonpath.internal.JsonContext;
 import com.jayway.jsonpath.internal.Path;
 import com.jayway.jsonpath.internal.PathRef;
 import com.jayway.jsonpath.internal.Utils;
+import com.jayway.jsonpath.internal.path.DocumentIndex;
 import com.jayway.jsonpath.internal.path.PathCompiler;
+import com.jayway.jsonpath.internal.path.StreamingEvaluator;
 import com.jayway.jsonpath.spi.json.JsonProvider;
 
 import java.io.File;
@@ -28,6 +31,9 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
 
 import static com.jayway.jsonpath.Option.ALWAYS_RETURN_LIST;
 import static com.jayway.jsonpath.Option.AS_PATH_LIST;
@@ -94,6 +100,10 @@ import static com.jayway.jsonpath.internal.Utils.*;
  */
 public class JsonPath {
 
+    static {
+        IndexedReads.register(new Reads());
+    }
+
     private final Path path;
 
     private JsonPath(String jsonPath, Predicate[] filters) {
@@ -101,6 +111,10 @@ public class JsonPath {
         this.path = PathCompiler.compile(jsonPath, filters);
     }
 
+    Path getCompiledPath() {
+        return path;
+    }
+
     /**
      * Returns the string representation of this JsonPath
      *
@@ -143,6 +157,19 @@ public class JsonPath {
         return path.isDefinite();
     }
 
+    /**
+     * Two JsonPaths are equal if they are compiled from the same path, with equal filters
+     */
+    @Override
+    public boolean equals(Object obj) {
+        return this == obj || obj instanceof JsonPath && path.equals(((JsonPath) obj).path);
+    }
+
+    @Override
+    public int hashCode() {
+        return path.hashCode();
+    }
+
     /**
      * Applies this JsonPath to the provided json document.
      * Note that the document must be identified as either a List or Map by
@@ -169,47 +196,242 @@ public class JsonPath {
      */
     @SuppressWarnings("unchecked")
     public <T> T read(Object jsonObject, Configuration configuration) {
-        boolean optAsPathList = configuration.containsOption(AS_PATH_LIST);
-        boolean optAlwaysReturnList = configuration.containsOption(Option.ALWAYS_RETURN_LIST);
-        boolean optSuppressExceptions = configuration.containsOption(Option.SUPPRESS_EXCEPTIONS);
+        return read(jsonObject, null, null, configuration);
+    }
 
+    /**
+     * Applies this JsonPath to the provided json document, evaluating it only until the given number of
+     * results has been found.
+     *
+     * @param jsonObject    a container Object
+     * @param configuration configuration to use
+     * @param maxResults    the maximum number of results
+     * @param <T>           expected return type
+     * @return object(s) matched by the given path
+     */
+    public <T> T read(Object jsonObject, Configuration configuration, int maxResults) {
+        return read(jsonObject, configuration, maxResults, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T read(Object jsonObject, Configuration configuration, int maxResults, DocumentIndex.Reference documentIndex) {
+        isTrue(maxResults > 0, "maxResults must be greater than zero");
         try {
-            if(path.isFunctionPath()){
-                if(optAsPathList || optAlwaysReturnList){
-                    throw new JsonPathException("Options " + AS_PATH_LIST + " and " + ALWAYS_RETURN_LIST + " are not allowed when using path functions!");
-                }
-                return path.evaluate(jsonObject, jsonObject, configuration).getValue(true);
+            checkReadOptions(configuration);
+            return resultOf(path.evaluate(jsonObject, jsonObject, configuration, maxResults, documentIndex), configuration);
+        } catch (RuntimeException e) {
+            return resultOf(e, configuration);
+        }
+    }
 
-            } else if(optAsPathList){
-                return  (T)path.evaluate(jsonObject, jsonObject, configuration).getPath();
+    /**
+     * Returns the first value this JsonPath matches in the provided json document, the evaluation stops as soon
+     * as it has been found. With {@link Option#AS_PATH_LIST} the path of the value is returned.
+     *
+     * @param jsonObject    a container Object
+     * @param configuration configuration to use
+     * @param <T>           expected return type
+     * @return the first object matched by the given path
+     * @throws PathNotFoundException if the path does not match anything, unless {@link Option#SUPPRESS_EXCEPTIONS} is set
+     */
+    public <T> T readFirst(Object jsonObject, Configuration configuration) {
+        return readFirst(jsonObject, configuration, null);
+    }
 
-            } else {
-                Object res = path.evaluate(jsonObject, jsonObject, configuration).getValue(false);
-                if(optAlwaysReturnList && path.isDefinite()){
-                    Object array = configuration.jsonProvider().createArray();
-                    configuration.jsonProvider().setArrayIndex(array, 0, res);
-                    return (T)array;
-                } else {
-                    return (T)res;
-                }
+    @SuppressWarnings("unchecked")
+    private <T> T readFirst(Object jsonObject, Configuration configuration, DocumentIndex.Reference documentIndex) {
+        try {
+            checkReadOptions(configuration);
+            EvaluationContext evaluationContext = path.evaluate(jsonObject, jsonObject, configuration, 1, documentIndex);
+            if (path.isFunctionPath()) {
+                return evaluationContext.getValue(true);
+            }
+            if (evaluationContext.getResultCount() == 0) {
+                throw new PathNotFoundException("No results for path: " + path.toString());
+            } else if (configuration.containsOption(AS_PATH_LIST)) {
+                return (T) evaluationContext.getPathList().get(0);
+            } else if (path.isDefinite()) {
+                return evaluationContext.getValue(false);
             }
-        } catch (RuntimeException e){
-            if(!optSuppressExceptions){
+            return (T) configuration.jsonProvider().getArrayIndex(evaluationContext.getValue(false), 0);
+        } catch (RuntimeException e) {
+            if (!configuration.containsOption(Option.SUPPRESS_EXCEPTIONS) || e instanceof InvalidJsonException) {
+                throw e;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Counts the values this JsonPath matches in the provided json document, without collecting them.
+     *
+     * @param jsonObject    a container Object
+     * @param configuration configuration to use
+     * @return the number of objects matched by the given path, 0 if the path does not match anything
+     */
+    public int count(Object jsonObject, Configuration configuration) {
+        return count(jsonObject, configuration, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Counts the values this JsonPath matches in the provided json document, without collecting them. The
+     * evaluation stops when the given number of values has been found.
+     *
+     * @param jsonObject    a container Object
+     * @param configuration configuration to use
+     * @param maxResults    the maximum number of results to count
+     * @return the number of objects matched by the given path, at most maxResults
+     */
+    public int count(Object jsonObject, Configuration configuration, int maxResults) {
+        return count(jsonObject, configuration, maxResults, null);
+    }
+
+    private int count(Object jsonObject, Configuration configuration, int maxResults, DocumentIndex.Reference documentIndex) {
+        isTrue(maxResults > 0, "maxResults must be greater than zero");
+        try {
+            return path.count(jsonObject, jsonObject, configuration, maxResults, documentIndex);
+        } catch (PathNotFoundException e) {
+            return 0;
+        } catch (RuntimeException e) {
+            if (!configuration.containsOption(Option.SUPPRESS_EXCEPTIONS) || e instanceof InvalidJsonException) {
+                throw e;
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Checks if this JsonPath matches anything in the provided json document, the evaluation stops at the
+     * first match. A definite path exists when {@link #read(Object, Configuration)} would not throw a
+     * {@link PathNotFoundException}, e.g. with {@link Option#DEFAULT_PATH_LEAF_TO_NULL} a missing leaf exists.
+     *
+     * @param jsonObject    a container Object
+     * @param configuration configuration to use
+     * @return true if the given path matches at least one object
+     */
+    public boolean exists(Object jsonObject, Configuration configuration) {
+        return count(jsonObject, configuration, 1) > 0;
+    }
+
+    /**
+     * Applies this JsonPath to the provided json document lazily, the document is evaluated as the returned
+     * iterator is advanced and the matches are not collected. With {@link Option#AS_PATH_LIST} the paths of the
+     * matches are returned.
+     * <p/>
+     * Matches come in the order {@link #read(Object, Configuration)} returns them. An exception the evaluation
+     * runs into is thrown by the iterator, after the matches found before it.
+     *
+     * @param jsonObject    a container Object
+     * @param configuration configuration to use
+     * @param <T>           expected type of the matches
+     * @return an iterator over the object(s) matched by the given path
+     */
+    public <T> Iterator<T> iterate(Object jsonObject, Configuration configuration) {
+        return iterate(jsonObject, configuration, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Applies this JsonPath to the provided json document lazily, the iteration ends when the given number of
+     * matches has been returned.
+     *
+     * @param jsonObject    a container Object
+     * @param configuration configuration to use
+     * @param maxResults    the maximum number of results
+     * @param <T>           expected type of the matches
+     * @return an iterator over the object(s) matched by the given path
+     * @see #iterate(Object, Configuration)
+     */
+    public <T> Iterator<T> iterate(Object jsonObject, Configuration configuration, int maxResults) {
+        return iterate(jsonObject, configuration, maxResults, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Iterator<T> iterate(Object jsonObject, Configuration configuration, int maxResults, DocumentIndex.Reference documentIndex) {
+        isTrue(maxResults > 0, "maxResults must be greater than zero");
+        try {
+            checkReadOptions(configuration);
+        } catch (RuntimeException e) {
+            if (!configuration.containsOption(Option.SUPPRESS_EXCEPTIONS)) {
                 throw e;
+            }
+            return Collections.<T>emptyList().iterator();
+        }
+        return (Iterator<T>) path.iterate(jsonObject, jsonObject, configuration, maxResults, documentIndex);
+    }
+
+    private <T> T read(Object jsonObject, InputStream jsonStream, String charset, Configuration configuration) {
+        try {
+            checkReadOptions(configuration);
+            return resultOf(evaluate(jsonObject, jsonStream, charset, configuration), configuration);
+        } catch (RuntimeException e) {
+            return resultOf(e, configuration);
+        }
+    }
+
+    /**
+     * Creates the result of a read from an evaluation done elsewhere, e.g. by a {@link JsonPathBatch}
+     */
+    <T> T read(EvaluationContext evaluationContext, Configuration configuration) {
+        try {
+            checkReadOptions(configuration);
+            return resultOf(evaluationContext, configuration);
+        } catch (RuntimeException e) {
+            return resultOf(e, configuration);
+        }
+    }
+
+    private void checkReadOptions(Configuration configuration) {
+        if(path.isFunctionPath()){
+            if(configuration.containsOption(AS_PATH_LIST) || configuration.containsOption(ALWAYS_RETURN_LIST)){
+                throw new JsonPathException("Options " + AS_PATH_LIST + " and " + ALWAYS_RETURN_LIST + " are not allowed when using path functions!");
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T resultOf(EvaluationContext evaluationContext, Configuration configuration) {
+        if(path.isFunctionPath()){
+            return evaluationContext.getValue(true);
+
+        } else if(configuration.containsOption(AS_PATH_LIST)){
+            return  (T)evaluationContext.getPath();
+
+        } else {
+            Object res = evaluationContext.getValue(false);
+            if(configuration.containsOption(ALWAYS_RETURN_LIST) && path.isDefinite()){
+                Object array = configuration.jsonProvider().createArray();
+                configuration.jsonProvider().setArrayIndex(array, 0, res);
+                return (T)array;
+            } else {
+                return (T)res;
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T resultOf(RuntimeException e, Configuration configuration) {
+        if(!configuration.containsOption(Option.SUPPRESS_EXCEPTIONS) || e instanceof InvalidJsonException){
+            throw e;
+        } else {
+            if(configuration.containsOption(AS_PATH_LIST)){
+                return (T)configuration.jsonProvider().createArray();
             } else {
-                if(optAsPathList){
+                if(configuration.containsOption(ALWAYS_RETURN_LIST)){
                     return (T)configuration.jsonProvider().createArray();
                 } else {
-                    if(optAlwaysReturnList){
-                        return (T)configuration.jsonProvider().createArray();
-                    } else {
-                        return (T)(path.isDefinite() ? null : configuration.jsonProvider().createArray());
-                    }
+                    return (T)(path.isDefinite() ? null : configuration.jsonProvider().createArray());
                 }
             }
         }
     }
 
+    private EvaluationContext evaluate(Object jsonObject, InputStream jsonStream, String charset, Configuration configuration) {
+        if(jsonStream != null){
+            return StreamingEvaluator.evaluate(path, jsonStream, charset, configuration);
+        }
+        return path.evaluate(jsonObject, jsonObject, configuration);
+    }
+
     /**
      * Set the value this path points to in the provided jsonObject
      *
@@ -448,6 +670,52 @@ public class JsonPath {
         }
     }
 
+    /**
+     * Applies this JsonPath to the provided json input stream without parsing the whole document first.
+     * The stream is read with a pull parser, parts of the document that can not match the path are skipped
+     * and only matched values are created by the configured {@link JsonProvider}. Reading stops as soon as
+     * the value of a definite path has been found.
+     * <p/>
+     * Results of indefinite paths are returned in document order. If the path can not be streamed, e.g. because
+     * a filter refers to the root document or Jackson is not on the classpath, the document is parsed and
+     * evaluated as in {@link #read(InputStream, Configuration)}.
+     *
+     * @param jsonInputStream input stream to read from
+     * @param configuration   configuration to use
+     * @param <T>             expected return type
+     * @return object(s) matched by the given path
+     */
+    @SuppressWarnings({"unchecked"})
+    public <T> T readStream(InputStream jsonInputStream, Configuration configuration) {
+        return readStream(jsonInputStream, "UTF-8", configuration);
+    }
+
+    /**
+     * Applies this JsonPath to the provided json input stream without parsing the whole document first.
+     * See {@link #readStream(InputStream, Configuration)}.
+     *
+     * @param jsonInputStream input stream to read from
+     * @param charset         charset of the input stream
+     * @param configuration   configuration to use
+     * @param <T>             expected return type
+     * @return object(s) matched by the given path
+     */
+    @SuppressWarnings({"unchecked"})
+    public <T> T readStream(InputStream jsonInputStream, String charset, Configuration configuration) {
+        notNull(jsonInputStream, "json input stream can not be null");
+        notNull(charset, "charset can not be null");
+        notNull(configuration, "configuration can not be null");
+
+        try {
+            if(!StreamingEvaluator.canStream(path, configuration)){
+                return read(configuration.jsonProvider().parse(jsonInputStream, charset), configuration);
+            }
+            return read(null, jsonInputStream, charset, configuration);
+        } finally {
+            Utils.closeQuietly(jsonInputStream);
+        }
+    }
+
     // --------------------------------------------------------
     //
     // Static factory methods
@@ -467,6 +735,24 @@ public class JsonPath {
         return new JsonPath(jsonPath, filters);
     }
 
+    /**
+     * Compiles a batch of JsonPaths that are evaluated together in a single traversal of a document.
+     * The results of the batch are keyed by the given path strings.
+     *
+     * @param jsonPaths paths to compile
+     * @return compiled batch
+     * @see JsonPathBatch
+     */
+    public static JsonPathBatch compileBatch(String... jsonPaths) {
+        notNull(jsonPaths, "paths can not be null");
+
+        JsonPath[] compiled = new JsonPath[jsonPaths.length];
+        for (int i = 0; i < jsonPaths.length; i++) {
+            compiled[i] = compile(jsonPaths[i]);
+        }
+        return new JsonPathBatch(jsonPaths.clone(), compiled);
+    }
+
 
     // --------------------------------------------------------
     //
@@ -691,4 +977,31 @@ public class JsonPath {
             return (T) jsonObject;
         }
     }
+
+    private static final class Reads extends IndexedReads {
+        @Override
+        protected <T> T read(JsonPath path, Object json, Configuration configuration, int maxResults, DocumentIndex.Reference documentIndex) {
+            return path.read(json, configuration, maxResults, documentIndex);
+        }
+
+        @Override
+        protected <T> T readFirst(JsonPath path, Object json, Configuration configuration, DocumentIndex.Reference documentIndex) {
+            return path.readFirst(json, configuration, documentIndex);
+        }
+
+        @Override
+        protected int count(JsonPath path, Object json, Configuration configuration, int maxResults, DocumentIndex.Reference documentIndex) {
+            return path.count(json, configuration, maxResults, documentIndex);
+        }
+
+        @Override
+        protected <T> Iterator<T> iterate(JsonPath path, Object json, Configuration configuration, int maxResults, DocumentIndex.Reference documentIndex) {
+            return path.iterate(json, configuration, maxResults, documentIndex);
+        }
+
+        @Override
+        protected Map<String, Object> read(JsonPathBatch batch, Object json, Configuration configuration, DocumentIndex.Reference documentIndex) {
+            return batch.read(json, configuration, documentIndex);
+        }
+    }
 }
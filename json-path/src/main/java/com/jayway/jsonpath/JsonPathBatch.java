@@ -0,0 +1,186 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath;
+
+import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.internal.Utils;
+import com.jayway.jsonpath.internal.path.DocumentIndex;
+import com.jayway.jsonpath.internal.path.PathTrie;
+
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.jayway.jsonpath.internal.Utils.notEmpty;
+import static com.jayway.jsonpath.internal.Utils.notNull;
+
+/**
+ * A set of JsonPaths evaluated together. The paths are merged into a prefix trie so that a common prefix
+ * like <code>$.store.book[*]</code> is only evaluated once for all paths starting with it, and the document
+ * is traversed a single time.
+ * <p/>
+ * <code>
+ * JsonPathBatch batch = JsonPath.compileBatch("$.store.book[*].author", "$.store.book[*].title");
+ * <br/>
+ * Map&lt;String, Object&gt; results = batch.read(json);
+ * </code>
+ * <p/>
+ * The result of every path is the same as reading the path on its own, including the exceptions
+ * thrown. Results are returned in a map keyed by path, in the order the paths were given.
+ */
+public final class JsonPathBatch {
+
+    private final String[] keys;
+    private final JsonPath[] paths;
+    private final PathTrie trie;
+
+    JsonPathBatch(String[] keys, JsonPath[] paths) {
+        this.keys = keys;
+        this.paths = paths;
+
+        Path[] compiled = new Path[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            compiled[i] = paths[i].getCompiledPath();
+        }
+        this.trie = new PathTrie(compiled);
+    }
+
+    /**
+     * Creates a batch of compiled JsonPaths. The results of the batch are keyed by {@link JsonPath#getPath()}.
+     * <p/>
+     * Paths that only differ in their filters, e.g. <code>$[?(@.a)]</code> and <code>$[?(@.b)]</code>, or in their
+     * notation, e.g. <code>$.a</code> and <code>$['a']</code>, have the same key and can not be in the same batch.
+     *
+     * @param paths paths to evaluate together
+     * @return a batch
+     * @throws IllegalArgumentException if two of the paths have the same key
+     */
+    public static JsonPathBatch of(JsonPath... paths) {
+        notNull(paths, "paths can not be null");
+
+        String[] keys = new String[paths.length];
+        Set<String> distinct = new HashSet<String>();
+        for (int i = 0; i < paths.length; i++) {
+            notNull(paths[i], "path can not be null");
+            keys[i] = paths[i].getPath();
+            if (!distinct.add(keys[i])) {
+                throw new IllegalArgumentException("Paths of a batch must have distinct keys, more than one path is keyed by " + keys[i]);
+            }
+        }
+        return new JsonPathBatch(keys, paths.clone());
+    }
+
+    /**
+     * @return the keys of the results of this batch
+     */
+    public List<String> getPaths() {
+        return Collections.unmodifiableList(Arrays.asList(keys));
+    }
+
+    /**
+     * Applies all paths to the provided json document.
+     *
+     * @param jsonObject a container Object
+     * @return results keyed by path
+     */
+    public Map<String, Object> read(Object jsonObject) {
+        return read(jsonObject, Configuration.defaultConfiguration());
+    }
+
+    /**
+     * Applies all paths to the provided json document.
+     *
+     * @param jsonObject    a container Object
+     * @param configuration configuration to use
+     * @return results keyed by path
+     */
+    public Map<String, Object> read(Object jsonObject, Configuration configuration) {
+        return read(jsonObject, configuration, null);
+    }
+
+    /**
+     * Applies all paths to the provided json document, deep scans use the given index of the document if it is not null.
+     */
+    Map<String, Object> read(Object jsonObject, Configuration configuration, DocumentIndex.Reference documentIndex) {
+        notNull(jsonObject, "json can not be null");
+        notNull(configuration, "configuration can not be null");
+
+        return results(trie.evaluate(jsonObject, configuration, documentIndex), configuration);
+    }
+
+    /**
+     * Applies all paths to the provided json string.
+     *
+     * @param json          a json string
+     * @param configuration configuration to use
+     * @return results keyed by path
+     */
+    public Map<String, Object> read(String json, Configuration configuration) {
+        notEmpty(json, "json can not be null or empty");
+        notNull(configuration, "configuration can not be null");
+
+        return read(configuration.jsonProvider().parse(json), configuration);
+    }
+
+    /**
+     * Applies all paths in a single pass over the provided json input stream, see
+     * {@link JsonPath#readStream(InputStream, Configuration)}. The stream is closed when done.
+     *
+     * @param jsonInputStream input stream to read from
+     * @param configuration   configuration to use
+     * @return results keyed by path
+     */
+    public Map<String, Object> readStream(InputStream jsonInputStream, Configuration configuration) {
+        return readStream(jsonInputStream, "UTF-8", configuration);
+    }
+
+    /**
+     * Applies all paths in a single pass over the provided json input stream, see
+     * {@link JsonPath#readStream(InputStream, Configuration)}. The stream is closed when done.
+     *
+     * @param jsonInputStream input stream to read from
+     * @param charset         charset of the input stream
+     * @param configuration   configuration to use
+     * @return results keyed by path
+     */
+    public Map<String, Object> readStream(InputStream jsonInputStream, String charset, Configuration configuration) {
+        notNull(jsonInputStream, "json input stream can not be null");
+        notNull(charset, "charset can not be null");
+        notNull(configuration, "configuration can not be null");
+
+        try {
+            if (!trie.canStream(configuration)) {
+                return read(configuration.jsonProvider().parse(jsonInputStream, charset), configuration);
+            }
+            return results(trie.evaluate(jsonInputStream, charset, configuration), configuration);
+        } finally {
+            Utils.closeQuietly(jsonInputStream);
+        }
+    }
+
+    private Map<String, Object> results(EvaluationContext[] evaluationContexts, Configuration configuration) {
+        Map<String, Object> results = new LinkedHashMap<String, Object>();
+        for (int i = 0; i < paths.length; i++) {
+            results.put(keys[i], paths[i].read(evaluationContexts[i], configuration));
+        }
+        return results;
+    }
+}
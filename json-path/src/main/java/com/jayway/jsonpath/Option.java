@@ -83,6 +83,52 @@ public enum Option {
      * If REQUIRE_PROPERTIES option is present PathNotFoundException is thrown.
      * If REQUIRE_PROPERTIES option is not present ["b-val"] is returned.
      */
-    REQUIRE_PROPERTIES
+    REQUIRE_PROPERTIES,
+
+    /**
+     * Lets filters track how often each operand of a <code>&&</code> or <code>||</code> chain decides the outcome
+     * and periodically reorder the operands by observed selectivity, cheapest decisive operand first.
+     * <br/>
+     * Filters are reordered by estimated cost when they are compiled regardless of this option, it only adds
+     * the feedback of the documents actually evaluated. Operands are assumed to be free of side effects.
+     */
+    ADAPTIVE_FILTER_ORDERING,
+
+    /**
+     * Evaluates filters over arrays of 1024 elements or more on multiple threads. The filter is applied to
+     * ranges of the array concurrently, the accepted elements are returned in array order as without this option.
+     * <br/>
+     * Custom {@link Predicate}s used in filters must be thread safe. Filters are evaluated sequentially when
+     * evaluation listeners are configured.
+     */
+    PARALLEL_FILTER,
+
+    /**
+     * Walks large documents for deep scans (<code>..</code>) on multiple threads. Subtrees of the document are
+     * scanned concurrently, results are returned in document order as without this option.
+     * <br/>
+     * Evaluation listeners are notified from the calling thread and see the results in the same order, but an
+     * abort only takes effect after the document has been scanned. Custom {@link Predicate}s used in filters
+     * after the deep scan must be thread safe.
+     */
+    PARALLEL_SCAN,
+
+    /**
+     * Lets a {@link DocumentContext} index which property names occur beneath every object and array of its
+     * document, so deep scans for a property (e.g. <code>$..isbn</code>) skip the parts that do not have it.
+     * <br/>
+     * The index is built on the first deep scan and reused by later reads of the context. It is rebuilt after
+     * modifications made through the context, the document must not be modified in any other way.
+     */
+    DEEP_SCAN_INDEX,
+
+    /**
+     * Evaluates paths with an explicit stack instead of recursing once per token and document level, so deeply
+     * nested documents do not overflow the call stack.
+     * <br/>
+     * Results are the same as without this option. {@link #PARALLEL_FILTER} and {@link #PARALLEL_SCAN} do not
+     * apply, filters and deep scans are evaluated by the calling thread.
+     */
+    ITERATIVE_EVALUATION
 
 }
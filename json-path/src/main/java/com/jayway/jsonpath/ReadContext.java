@@ -14,6 +14,9 @@
  */
 package com.jayway.jsonpath;
 
+import java.util.Iterator;
+import java.util.Map;
+
 public interface ReadContext {
 
     /**
@@ -107,6 +110,100 @@ public interface ReadContext {
      */
     <T> T read(String path, TypeRef<T> typeRef);
 
+    /**
+     * Reads the given paths from this context in a single traversal of the document
+     *
+     * @param paths paths to apply
+     * @return results keyed by {@link JsonPath#getPath()}
+     * @throws IllegalArgumentException if two of the paths have the same key, see {@link JsonPathBatch#of(JsonPath...)}
+     * @see JsonPathBatch
+     */
+    Map<String, Object> readAll(JsonPath... paths);
+
+    /**
+     * Reads the first value the given path matches in this context, the evaluation stops as soon as it has
+     * been found
+     *
+     * @param path    path to read
+     * @param filters filters
+     * @param <T>
+     * @return the first match
+     * @throws PathNotFoundException if the path does not match anything
+     * @see JsonPath#readFirst(Object, Configuration)
+     */
+    <T> T readFirst(String path, Predicate... filters);
+
+    /**
+     * Reads the first value the given path matches in this context, the evaluation stops as soon as it has
+     * been found
+     *
+     * @param path path to apply
+     * @param <T>
+     * @return the first match
+     * @throws PathNotFoundException if the path does not match anything
+     * @see JsonPath#readFirst(Object, Configuration)
+     */
+    <T> T readFirst(JsonPath path);
+
+    /**
+     * Reads the given path from this context lazily, the document is evaluated as the iterator is advanced
+     *
+     * @param path    path to read
+     * @param filters filters
+     * @param <T>
+     * @return an iterator over the matches
+     * @see JsonPath#iterate(Object, Configuration)
+     */
+    <T> Iterator<T> iterate(String path, Predicate... filters);
+
+    /**
+     * Reads the given path from this context lazily, the document is evaluated as the iterator is advanced
+     *
+     * @param path path to apply
+     * @param <T>
+     * @return an iterator over the matches
+     * @see JsonPath#iterate(Object, Configuration)
+     */
+    <T> Iterator<T> iterate(JsonPath path);
+
+    /**
+     * Checks if the given path matches anything in this context, the evaluation stops at the first match
+     *
+     * @param path    path to apply
+     * @param filters filters
+     * @return true if the path matches at least one value
+     * @see JsonPath#exists(Object, Configuration)
+     */
+    boolean exists(String path, Predicate... filters);
+
+    /**
+     * Checks if the given path matches anything in this context, the evaluation stops at the first match
+     *
+     * @param path path to apply
+     * @return true if the path matches at least one value
+     * @see JsonPath#exists(Object, Configuration)
+     */
+    boolean exists(JsonPath path);
+
+    /**
+     * Counts the values the given path matches in this context, without collecting them
+     *
+     * @param path    path to apply
+     * @param filters filters
+     * @return the number of matches
+     * @see JsonPath#count(Object, Configuration)
+     */
+    int count(String path, Predicate... filters);
+
+    /**
+     * Counts the values the given path matches in this context, without collecting them
+     *
+     * @param path path to apply
+     * @return the number of matches
+     * @see JsonPath#count(Object, Configuration)
+     */
+    int count(JsonPath path);
+
     /**
      * Stops evaluation when maxResults limit has been reached
      * @param maxResults
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal;
+
+import com.jayway.jsonpath.spi.cache.CacheStats;
+import com.jayway.jsonpath.spi.cache.StatsCounter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded map evicting with the CLOCK (second chance) policy, backing the caches of compiled paths and filters.
+ * <p/>
+ * Lookups are lock free and O(1): a hit only marks the entry as referenced. Entries are kept in a ring
+ * that a clock hand sweeps when a new entry needs room, an entry referenced since the last sweep gets a
+ * second chance, the first one that was not is evicted. Only adding entries takes a lock.
+ *
+ * @param <V> type of the values
+ */
+public final class ClockMap<V> {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final StatsCounter statsCounter = new StatsCounter();
+
+    private final ConcurrentMap<Object, Entry<V>> map;
+    private final Entry<V>[] ring;
+    private int count;
+    private int hand;
+
+    @SuppressWarnings("unchecked")
+    public ClockMap(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be greater than zero");
+        }
+        this.map = new ConcurrentHashMap<Object, Entry<V>>(limit + limit / 3 + 1);
+        this.ring = (Entry<V>[]) new Entry<?>[limit];
+    }
+
+    public V get(Object key) {
+        Entry<V> entry = map.get(key);
+        if (entry == null) {
+            statsCounter.recordMiss();
+            return null;
+        }
+        statsCounter.recordHit();
+        if (!entry.referenced) {
+            // avoid writing a shared cache line on every hit
+            entry.referenced = true;
+        }
+        return entry.value;
+    }
+
+    public void put(Object key, V value) {
+        lock.lock();
+        try {
+            Entry<V> entry = map.get(key);
+            if (entry != null) {
+                entry.value = value;
+                entry.referenced = true;
+                return;
+            }
+            entry = new Entry<V>(key, value);
+            if (count < ring.length) {
+                ring[count++] = entry;
+            } else {
+                ring[nextVictim()] = entry;
+            }
+            map.put(key, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Advances the clock hand to the first entry not referenced since the last sweep and evicts it.
+     *
+     * @return the index of the free slot in the ring
+     */
+    private int nextVictim() {
+        while (true) {
+            Entry<V> candidate = ring[hand];
+            int slot = hand;
+            hand = (hand + 1) % ring.length;
+            if (candidate.removed) {
+                return slot;
+            }
+            if (!candidate.referenced) {
+                map.remove(candidate.key, candidate);
+                statsCounter.recordEviction();
+                return slot;
+            }
+            candidate.referenced = false;
+        }
+    }
+
+    public void recordLoad(long loadTime) {
+        statsCounter.recordLoad(loadTime);
+    }
+
+    public CacheStats stats() {
+        return statsCounter.snapshot();
+    }
+
+    public V getSilent(Object key) {
+        Entry<V> entry = map.get(key);
+        return entry == null ? null : entry.value;
+    }
+
+    public void remove(Object key) {
+        lock.lock();
+        try {
+            Entry<V> entry = map.remove(key);
+            if (entry != null) {
+                // the slot is reclaimed when the clock hand reaches it
+                entry.removed = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public String toString() {
+        return map.toString();
+    }
+
+    private static final class Entry<V> {
+        private final Object key;
+        private volatile V value;
+        private volatile boolean referenced;
+        private boolean removed;
+
+        private Entry(Object key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(value);
+        }
+    }
+}
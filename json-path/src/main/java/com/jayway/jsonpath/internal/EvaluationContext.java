@@ -68,6 +68,11 @@ public interface EvaluationContext {
      */
     List<String> getPathList();
 
+    /**
+     * @return the number of results found by the evaluation
+     */
+    int getResultCount();
+
     Collection<PathRef> updateOperations();
 
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.JsonPathBatch;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.internal.path.DocumentIndex;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Reads of {@link JsonPath}s and {@link JsonPathBatch}es using the index of the document, see
+ * {@link Option#DEEP_SCAN_INDEX}. The index is not part of their public API, the reads are implemented by
+ * JsonPath, which registers them when it is initialized, and used by {@link JsonContext}.
+ */
+public abstract class IndexedReads {
+
+    private static volatile IndexedReads instance;
+
+    public static void register(IndexedReads reads) {
+        if (instance != null) {
+            throw new IllegalStateException("Indexed reads are already registered");
+        }
+        instance = reads;
+    }
+
+    static IndexedReads get() {
+        if (instance == null) {
+            try {
+                // registered by the static initializer of JsonPath
+                Class.forName(JsonPath.class.getName(), true, JsonPath.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return instance;
+    }
+
+    protected abstract <T> T read(JsonPath path, Object json, Configuration configuration, int maxResults,
+                                  DocumentIndex.Reference documentIndex);
+
+    protected abstract <T> T readFirst(JsonPath path, Object json, Configuration configuration,
+                                       DocumentIndex.Reference documentIndex);
+
+    protected abstract int count(JsonPath path, Object json, Configuration configuration, int maxResults,
+                                 DocumentIndex.Reference documentIndex);
+
+    protected abstract <T> Iterator<T> iterate(JsonPath path, Object json, Configuration configuration, int maxResults,
+                                               DocumentIndex.Reference documentIndex);
+
+    protected abstract Map<String, Object> read(JsonPathBatch batch, Object json, Configuration configuration,
+                                                DocumentIndex.Reference documentIndex);
+}
@@ -18,14 +18,17 @@ import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.EvaluationListener;
 import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.JsonPathBatch;
 import com.jayway.jsonpath.MapFunction;
 import com.jayway.jsonpath.Option;
 import com.jayway.jsonpath.ParseContext;
 import com.jayway.jsonpath.Predicate;
 import com.jayway.jsonpath.ReadContext;
 import com.jayway.jsonpath.TypeRef;
+import com.jayway.jsonpath.internal.path.DocumentIndex;
 import com.jayway.jsonpath.spi.cache.Cache;
 import com.jayway.jsonpath.spi.cache.CacheProvider;
+import com.jayway.jsonpath.spi.cache.StatsCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -33,13 +36,15 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.LinkedList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static com.jayway.jsonpath.JsonPath.compile;
 import static com.jayway.jsonpath.internal.Utils.notEmpty;
+import static com.jayway.jsonpath.internal.Utils.isTrue;
 import static com.jayway.jsonpath.internal.Utils.notNull;
-import static java.util.Arrays.asList;
 
 public class JsonContext implements ParseContext, DocumentContext {
 
@@ -47,6 +52,8 @@ public class JsonContext implements ParseContext, DocumentContext {
 
     private final Configuration configuration;
     private Object json;
+    private DocumentIndex.Reference documentIndex;
+    private final int resultLimit;
 
     public JsonContext() {
         this(Configuration.defaultConfiguration());
@@ -55,13 +62,16 @@ public class JsonContext implements ParseContext, DocumentContext {
     public JsonContext(Configuration configuration) {
         notNull(configuration, "configuration can not be null");
         this.configuration = configuration;
+        this.resultLimit = Integer.MAX_VALUE;
     }
 
-    private JsonContext(Object json, Configuration configuration) {
+    private JsonContext(Object json, Configuration configuration, DocumentIndex.Reference documentIndex, int resultLimit) {
         notNull(json, "json can not be null");
         notNull(configuration, "configuration can not be null");
         this.configuration = configuration;
         this.json = json;
+        this.documentIndex = documentIndex;
+        this.resultLimit = resultLimit;
     }
 
     //------------------------------------------------
@@ -73,6 +83,7 @@ public class JsonContext implements ParseContext, DocumentContext {
     public DocumentContext parse(Object json) {
         notNull(json, "json object can not be null");
         this.json = json;
+        this.documentIndex = null;
         return this;
     }
 
@@ -80,6 +91,7 @@ public class JsonContext implements ParseContext, DocumentContext {
     public DocumentContext parse(String json) {
         notEmpty(json, "json string can not be null or empty");
         this.json = configuration.jsonProvider().parse(json);
+        this.documentIndex = null;
         return this;
     }
 
@@ -94,6 +106,7 @@ public class JsonContext implements ParseContext, DocumentContext {
         notNull(json, "charset can not be null");
         try {
             this.json = configuration.jsonProvider().parse(json, charset);
+            this.documentIndex = null;
             return this;
         } finally {
             Utils.closeQuietly(json);
@@ -135,22 +148,7 @@ public class JsonContext implements ParseContext, DocumentContext {
 
     @Override
     public <T> T read(String path, Predicate... filters) {
-        notEmpty(path, "path can not be null or empty");
-        Cache cache = CacheProvider.getCache();
-
-        path = path.trim();
-        LinkedList filterStack = new LinkedList<Predicate>(asList(filters));
-        String cacheKey = Utils.concat(path, filterStack.toString());
-
-        JsonPath jsonPath = cache.get(cacheKey);
-        if(jsonPath != null){
-        	return read(jsonPath);
-        } else {
-        	jsonPath = compile(path, filters);
-        	cache.put(cacheKey, jsonPath);
-        	return read(jsonPath);
-        }
-
+        return read(compileForRead(path, filters));
     }
 
     @Override
@@ -161,7 +159,86 @@ public class JsonContext implements ParseContext, DocumentContext {
     @Override
     public <T> T read(JsonPath path) {
         notNull(path, "path can not be null");
-        return path.read(json, configuration);
+        return IndexedReads.get().read(path, json, configuration, resultLimit, documentIndex());
+    }
+
+    @Override
+    public <T> T readFirst(String path, Predicate... filters) {
+        return readFirst(compileForRead(path, filters));
+    }
+
+    @Override
+    public <T> T readFirst(JsonPath path) {
+        notNull(path, "path can not be null");
+        return IndexedReads.get().readFirst(path, json, configuration, documentIndex());
+    }
+
+    @Override
+    public <T> Iterator<T> iterate(String path, Predicate... filters) {
+        return iterate(compileForRead(path, filters));
+    }
+
+    @Override
+    public <T> Iterator<T> iterate(JsonPath path) {
+        notNull(path, "path can not be null");
+        return IndexedReads.get().iterate(path, json, configuration, resultLimit, documentIndex());
+    }
+
+    @Override
+    public boolean exists(String path, Predicate... filters) {
+        return exists(compileForRead(path, filters));
+    }
+
+    @Override
+    public boolean exists(JsonPath path) {
+        notNull(path, "path can not be null");
+        return count(path, 1) > 0;
+    }
+
+    @Override
+    public int count(String path, Predicate... filters) {
+        return count(compileForRead(path, filters));
+    }
+
+    @Override
+    public int count(JsonPath path) {
+        notNull(path, "path can not be null");
+        return count(path, resultLimit);
+    }
+
+    private int count(JsonPath path, int maxResults) {
+        return IndexedReads.get().count(path, json, configuration, maxResults, documentIndex());
+    }
+
+    @Override
+    public Map<String, Object> readAll(JsonPath... paths) {
+        // checks that the results have distinct keys
+        JsonPathBatch batch = JsonPathBatch.of(paths);
+        if (resultLimit != Integer.MAX_VALUE) {
+            // a batch traverses the document once for all paths, it can not stop for one of them
+            Map<String, Object> results = new LinkedHashMap<String, Object>();
+            for (JsonPath path : paths) {
+                results.put(path.getPath(), read(path));
+            }
+            return results;
+        }
+        return IndexedReads.get().read(batch, json, configuration, documentIndex());
+    }
+
+    /**
+     * @return the index used by deep scans of the document, or null without {@link Option#DEEP_SCAN_INDEX}
+     */
+    private DocumentIndex.Reference documentIndex() {
+        if (documentIndex == null && configuration.containsOption(Option.DEEP_SCAN_INDEX)) {
+            documentIndex = new DocumentIndex.Reference(json, configuration.jsonProvider());
+        }
+        return documentIndex;
+    }
+
+    private void documentModified() {
+        if (documentIndex != null) {
+            documentIndex.invalidate();
+        }
     }
 
     @Override
@@ -180,13 +257,42 @@ public class JsonContext implements ParseContext, DocumentContext {
     }
 
     public ReadContext limit(int maxResults){
-        return withListeners(new LimitingEvaluationListener(maxResults));
+        isTrue(maxResults > 0, "maxResults must be greater than zero");
+        return new JsonContext(json, configuration, documentIndex(), maxResults);
     }
 
     public ReadContext withListeners(EvaluationListener... listener){
-        return new JsonContext(json, configuration.setEvaluationListeners(listener));
+        return new JsonContext(json, configuration.setEvaluationListeners(listener), documentIndex(), resultLimit);
+    }
+
+
+    private JsonPath compileForRead(String path, Predicate... filters) {
+        Cache cache = configuration.cache() != null ? configuration.cache() : CacheProvider.getCache();
+        return compileCached(cache, path, filters);
     }
 
+    private JsonPath compileForWrite(String path, Predicate... filters) {
+        Cache cache = configuration.cache() != null ? configuration.cache() : CacheProvider.getWriteCache();
+        return compileCached(cache, path, filters);
+    }
+
+    private static JsonPath compileCached(Cache cache, String path, Predicate... filters) {
+        notEmpty(path, "path can not be null or empty");
+
+        path = path.trim();
+        Object cacheKey = PathCacheKey.of(path, filters);
+
+        JsonPath jsonPath = cache.get(cacheKey);
+        if(jsonPath == null){
+            long start = System.nanoTime();
+            jsonPath = compile(path, filters);
+            if(cache instanceof StatsCache){
+                ((StatsCache) cache).recordLoad(System.nanoTime() - start);
+            }
+            cache.put(cacheKey, jsonPath);
+        }
+        return jsonPath;
+    }
 
     private <T> T convert(Object obj, Class<T> targetType, Configuration configuration){
         return configuration.mappingProvider().map(obj, targetType, configuration);
@@ -198,12 +304,13 @@ public class JsonContext implements ParseContext, DocumentContext {
 
     @Override
     public DocumentContext set(String path, Object newValue, Predicate... filters) {
-        return set(compile(path, filters), newValue);
+        return set(compileForWrite(path, filters), newValue);
     }
 
     @Override
     public DocumentContext set(JsonPath path, Object newValue){
         List<String> modified = path.set(json, newValue, configuration.addOptions(Option.AS_PATH_LIST));
+        documentModified();
         if(logger.isDebugEnabled()){
             for (String p : modified) {
                 logger.debug("Set path {} new value {}", p, newValue);
@@ -214,24 +321,26 @@ public class JsonContext implements ParseContext, DocumentContext {
 
     @Override
     public DocumentContext map(String path, MapFunction mapFunction, Predicate... filters) {
-        map(compile(path, filters), mapFunction);
+        map(compileForWrite(path, filters), mapFunction);
         return this;
     }
 
     @Override
     public DocumentContext map(JsonPath path, MapFunction mapFunction) {
         path.map(json, mapFunction, configuration);
+        documentModified();
         return this;
     }
 
     @Override
     public DocumentContext delete(String path, Predicate... filters) {
-        return delete(compile(path, filters));
+        return delete(compileForWrite(path, filters));
     }
 
     @Override
     public DocumentContext delete(JsonPath path) {
         List<String> modified = path.delete(json, configuration.addOptions(Option.AS_PATH_LIST));
+        documentModified();
         if(logger.isDebugEnabled()){
             for (String p : modified) {
                 logger.debug("Delete path {}");
@@ -242,12 +351,13 @@ public class JsonContext implements ParseContext, DocumentContext {
 
     @Override
     public DocumentContext add(String path, Object value, Predicate... filters){
-        return add(compile(path, filters), value);
+        return add(compileForWrite(path, filters), value);
     }
 
     @Override
     public DocumentContext add(JsonPath path, Object value){
         List<String> modified =  path.add(json, value, configuration.addOptions(Option.AS_PATH_LIST));
+        documentModified();
         if(logger.isDebugEnabled()){
             for (String p : modified) {
                 logger.debug("Add path {} new value {}", p, value);
@@ -258,17 +368,18 @@ public class JsonContext implements ParseContext, DocumentContext {
 
     @Override
     public DocumentContext put(String path, String key, Object value, Predicate... filters){
-        return put(compile(path, filters), key, value);
+        return put(compileForWrite(path, filters), key, value);
     }
 
     @Override
     public DocumentContext renameKey(String path, String oldKeyName, String newKeyName, Predicate... filters) {
-        return renameKey(compile(path, filters), oldKeyName, newKeyName);
+        return renameKey(compileForWrite(path, filters), oldKeyName, newKeyName);
     }
 
     @Override
     public DocumentContext renameKey(JsonPath path, String oldKeyName, String newKeyName) {
         List<String> modified =  path.renameKey(json, oldKeyName, newKeyName, configuration.addOptions(Option.AS_PATH_LIST));
+        documentModified();
         if(logger.isDebugEnabled()){
             for (String p : modified) {
                 logger.debug("Rename path {} new value {}", p, newKeyName);
@@ -281,6 +392,7 @@ public class JsonContext implements ParseContext, DocumentContext {
     @Override
     public DocumentContext put(JsonPath path, String key, Object value){
         List<String> modified = path.put(json, key, value, configuration.addOptions(Option.AS_PATH_LIST));
+        documentModified();
         if(logger.isDebugEnabled()){
             for (String p : modified) {
                 logger.debug("Put path {} key {} value {}", p, key, value);
@@ -288,21 +400,4 @@ public class JsonContext implements ParseContext, DocumentContext {
         }
         return this;
     }
-
-    private final class LimitingEvaluationListener implements EvaluationListener {
-        final int limit;
-
-        private LimitingEvaluationListener(int limit) {
-            this.limit = limit;
-        }
-
-        @Override
-        public EvaluationContinuation resultFound(FoundResult found) {
-            if(found.index() == limit - 1){
-                return EvaluationContinuation.ABORT;
-            } else {
-                return EvaluationContinuation.CONTINUE;
-            }
-        }
-    }
 }
@@ -15,6 +15,9 @@
 package com.jayway.jsonpath.internal;
 
 import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.internal.path.DocumentIndex;
+
+import java.util.Iterator;
 
 /**
  *
@@ -43,6 +46,42 @@ public interface Path {
      */
     EvaluationContext evaluate(Object document, Object rootDocument, Configuration configuration, boolean forUpdate);
 
+    /**
+     * Evaluates this path until the given number of results has been found
+     *
+     * @param document the json document to apply the path on
+     * @param rootDocument the root json document that started this evaluation
+     * @param configuration configuration to use
+     * @param resultLimit the maximum number of results
+     * @param documentIndex the index of the root document used by deep scans, or null
+     * @return EvaluationContext containing results of evaluation
+     */
+    EvaluationContext evaluate(Object document, Object rootDocument, Configuration configuration, int resultLimit, DocumentIndex.Reference documentIndex);
+
+    /**
+     * Counts the results of this path without collecting them
+     *
+     * @param document the json document to apply the path on
+     * @param rootDocument the root json document that started this evaluation
+     * @param configuration configuration to use
+     * @param resultLimit the number of results after which counting stops
+     * @param documentIndex the index of the root document used by deep scans, or null
+     * @return the number of results, at most resultLimit
+     */
+    int count(Object document, Object rootDocument, Configuration configuration, int resultLimit, DocumentIndex.Reference documentIndex);
+
+    /**
+     * Evaluates this path lazily, finding the results as they are iterated
+     *
+     * @param document the json document to apply the path on
+     * @param rootDocument the root json document that started this evaluation
+     * @param configuration configuration to use
+     * @param resultLimit the number of results after which the iteration ends
+     * @param documentIndex the index of the root document used by deep scans, or null
+     * @return an iterator over the values found, or their paths with {@link com.jayway.jsonpath.Option#AS_PATH_LIST}
+     */
+    Iterator<Object> iterate(Object document, Object rootDocument, Configuration configuration, int resultLimit, DocumentIndex.Reference documentIndex);
+
     /**
      *
      * @return true id this path is definite
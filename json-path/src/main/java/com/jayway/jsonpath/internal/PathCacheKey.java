@@ -0,0 +1,88 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal;
+
+import com.jayway.jsonpath.Predicate;
+
+import java.util.Arrays;
+
+/**
+ * Cache key of a path compiled with predicates. Predicates are compared by identity, a path is only
+ * reused with the very predicates it was compiled with.
+ * <p/>
+ * A path compiled without predicates is cached by its path string.
+ */
+public final class PathCacheKey {
+
+    private final String path;
+    private final Predicate[] filters;
+    private final int hashCode;
+
+    private PathCacheKey(String path, Predicate[] filters) {
+        this.path = path;
+        this.filters = filters;
+        this.hashCode = hash(path, filters);
+    }
+
+    /**
+     * @param path    a trimmed path
+     * @param filters predicates the path is compiled with
+     * @return the cache key of the path
+     */
+    public static Object of(String path, Predicate... filters) {
+        if (filters == null || filters.length == 0) {
+            return path;
+        }
+        return new PathCacheKey(path, filters.clone());
+    }
+
+    private static int hash(String path, Predicate[] filters) {
+        int result = path.hashCode();
+        for (Predicate filter : filters) {
+            result = 31 * result + System.identityHashCode(filter);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PathCacheKey)) {
+            return false;
+        }
+        PathCacheKey that = (PathCacheKey) o;
+        if (hashCode != that.hashCode || !path.equals(that.path) || filters.length != that.filters.length) {
+            return false;
+        }
+        for (int i = 0; i < filters.length; i++) {
+            if (filters[i] != that.filters[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return path + Arrays.toString(filters);
+    }
+}
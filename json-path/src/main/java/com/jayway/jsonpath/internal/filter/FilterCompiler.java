@@ -4,6 +4,8 @@ import com.jayway.jsonpath.Filter;
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.Predicate;
 import com.jayway.jsonpath.internal.CharacterIndex;
+import com.jayway.jsonpath.internal.ClockMap;
+import com.jayway.jsonpath.spi.cache.CacheStats;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -45,11 +47,72 @@ public class FilterCompiler {
     private static final char PATTERN = '/';
     private static final char IGNORE_CASE = 'i';
 
+    private static final int CACHE_SIZE = 400;
+
+    // compiled filters by normalized filter string
+    private static final ClockMap<Filter> cache = new ClockMap<Filter>(CACHE_SIZE);
+
     private CharacterIndex filter;
 
+    /**
+     * Compiles a filter, filters are cached by their filter string with runs of blanks collapsed. Filters
+     * compiled from the same string are equal, whether or not they were taken from the cache.
+     *
+     * @param filterString filter string like <code>[?(@.a == 1)]</code>
+     * @return the compiled filter
+     */
     public static Filter compile(String filterString) {
+        String key = normalize(filterString);
+        Filter compiled = cache.get(key);
+        if (compiled == null) {
+            long start = System.nanoTime();
+            Predicate predicate = parse(filterString);
+            compiled = new CompiledFilter(key, predicate, FilterOptimizer.optimize(predicate));
+            cache.put(key, compiled);
+            cache.recordLoad(System.nanoTime() - start);
+        }
+        return compiled;
+    }
+
+    /**
+     * @return the statistics of the cache of compiled filters
+     */
+    public static CacheStats cacheStats() {
+        return cache.stats();
+    }
+
+    static Predicate parse(String filterString) {
         FilterCompiler compiler = new FilterCompiler(filterString);
-        return new CompiledFilter(compiler.compile());
+        return compiler.compile();
+    }
+
+    /**
+     * Trims the filter string and collapses runs of spaces outside string literals, which the compiler
+     * skips alike. Filter strings with a regular expression are only trimmed.
+     */
+    static String normalize(String filterString) {
+        String trimmed = filterString.trim();
+        StringBuilder normalized = new StringBuilder(trimmed.length());
+        char quote = 0;
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (quote != 0) {
+                if (c == '\\' && i + 1 < trimmed.length()) {
+                    normalized.append(c);
+                    c = trimmed.charAt(++i);
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == SINGLE_QUOTE || c == DOUBLE_QUOTE) {
+                quote = c;
+            } else if (c == PATTERN) {
+                return trimmed;
+            } else if (c == SPACE && normalized.charAt(normalized.length() - 1) == SPACE) {
+                continue;
+            }
+            normalized.append(c);
+        }
+        return normalized.toString();
     }
 
     private FilterCompiler(String filterString) {
@@ -370,15 +433,21 @@ public class FilterCompiler {
 
     private static final class CompiledFilter extends Filter {
 
+        // the normalized filter string it was compiled from
+        private final String key;
         private final Predicate predicate;
+        // evaluated instead of the predicate as written
+        private final Predicate optimized;
 
-        private CompiledFilter(Predicate predicate) {
+        private CompiledFilter(String key, Predicate predicate, Predicate optimized) {
+            this.key = key;
             this.predicate = predicate;
+            this.optimized = optimized;
         }
 
         @Override
         public boolean apply(Predicate.PredicateContext ctx) {
-            return predicate.apply(ctx);
+            return optimized.apply(ctx);
         }
 
         @Override
@@ -390,5 +459,15 @@ public class FilterCompiler {
                 return "[?(" + predicateString + ")]";
             }
         }
+
+        @Override
+        public boolean equals(Object obj) {
+            return this == obj || obj instanceof CompiledFilter && key.equals(((CompiledFilter) obj).key);
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode();
+        }
     }
 }
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.filter;
+
+import com.jayway.jsonpath.Predicate;
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.internal.path.PropertyChain;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Rewrites a compiled filter into an equivalent one that is cheaper to evaluate.
+ * <p/>
+ * Nested chains of the same logical operator are flattened, relational expressions between literals are folded
+ * to their constant outcome, repeated operands are removed and the operands of each chain are ordered by
+ * estimated cost so that the cheap ones get a chance to short circuit the expensive ones. Operands of the same
+ * cost keep their order.
+ */
+final class FilterOptimizer {
+
+    static final int LITERAL_COST = 0;
+    static final int PROPERTY_COST = 1;
+    static final int PATH_COST = 2;
+    static final int ROOT_PATH_COST = 4;
+    static final int REGEX_COST = 8;
+    static final int PREDICATE_COST = 16;
+
+    // extra cost of operators that iterate over a container
+    private static final int CONTAINER_COST = 1;
+
+    private FilterOptimizer() {
+    }
+
+    static Predicate optimize(Predicate predicate) {
+        if (predicate instanceof ExpressionNode) {
+            return optimize((ExpressionNode) predicate);
+        }
+        return predicate;
+    }
+
+    static ExpressionNode optimize(ExpressionNode node) {
+        if (node instanceof RelationalExpressionNode) {
+            return fold((RelationalExpressionNode) node);
+        } else if (node instanceof LogicalExpressionNode) {
+            LogicalExpressionNode logical = (LogicalExpressionNode) node;
+            return optimize(logical.getOperator(), logical.chain);
+        }
+        return node;
+    }
+
+    private static ExpressionNode optimize(LogicalOperator operator, List<ExpressionNode> chain) {
+        // an operand with this outcome decides the chain, one with the other outcome can be dropped
+        Constant decisive = operator == LogicalOperator.AND ? Constant.FALSE : Constant.TRUE;
+
+        List<ExpressionNode> operands = new ArrayList<ExpressionNode>();
+        for (ExpressionNode operand : flatten(operator, chain)) {
+            if (operand == decisive) {
+                return decisive;
+            } else if (operand instanceof Constant) {
+                continue;
+            }
+            if (!containsSame(operands, operand)) {
+                operands.add(operand);
+            }
+        }
+
+        if (operands.isEmpty()) {
+            return operator == LogicalOperator.AND ? Constant.TRUE : Constant.FALSE;
+        } else if (operands.size() == 1) {
+            return operands.get(0);
+        }
+        Collections.sort(operands, new Comparator<ExpressionNode>() {
+            @Override
+            public int compare(ExpressionNode o1, ExpressionNode o2) {
+                int c1 = cost(o1);
+                int c2 = cost(o2);
+                return c1 < c2 ? -1 : (c1 == c2 ? 0 : 1);
+            }
+        });
+        return new OrderedLogicalExpressionNode(operator, operands);
+    }
+
+    private static List<ExpressionNode> flatten(LogicalOperator operator, List<ExpressionNode> chain) {
+        List<ExpressionNode> flattened = new ArrayList<ExpressionNode>();
+        for (ExpressionNode operand : chain) {
+            ExpressionNode optimized = optimize(operand);
+            if (optimized instanceof OrderedLogicalExpressionNode && ((OrderedLogicalExpressionNode) optimized).getOperator() == operator) {
+                flattened.addAll(((OrderedLogicalExpressionNode) optimized).getOperands());
+            } else {
+                flattened.add(optimized);
+            }
+        }
+        return flattened;
+    }
+
+    private static boolean containsSame(List<ExpressionNode> operands, ExpressionNode operand) {
+        for (ExpressionNode other : operands) {
+            if (isSame(other, operand)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Expressions are the same if they have the same structure and their values are equal. Their strings are not
+     * enough, filters nested in paths and {@link Predicate}s render alike when they are not.
+     */
+    static boolean isSame(ExpressionNode e1, ExpressionNode e2) {
+        if (e1 == e2) {
+            return true;
+        } else if (e1 instanceof RelationalExpressionNode && e2 instanceof RelationalExpressionNode) {
+            RelationalExpressionNode r1 = (RelationalExpressionNode) e1;
+            RelationalExpressionNode r2 = (RelationalExpressionNode) e2;
+            return r1.getRelationalOperator() == r2.getRelationalOperator()
+                    && isSame(r1.getLeft(), r2.getLeft()) && isSame(r1.getRight(), r2.getRight());
+        } else if (e1 instanceof OrderedLogicalExpressionNode && e2 instanceof OrderedLogicalExpressionNode) {
+            OrderedLogicalExpressionNode l1 = (OrderedLogicalExpressionNode) e1;
+            OrderedLogicalExpressionNode l2 = (OrderedLogicalExpressionNode) e2;
+            List<ExpressionNode> operands = l1.getOperands();
+            List<ExpressionNode> others = l2.getOperands();
+            if (l1.getOperator() != l2.getOperator() || operands.size() != others.size()) {
+                return false;
+            }
+            for (int i = 0; i < operands.size(); i++) {
+                if (!isSame(operands.get(i), others.get(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isSame(ValueNode v1, ValueNode v2) {
+        if (v1 == v2) {
+            return true;
+        } else if (v1.getClass() != v2.getClass()) {
+            // equals compares strings and numbers by value, they are not compared alike
+            return false;
+        } else if (v1.isPathNode()) {
+            ValueNode.PathNode p1 = v1.asPathNode();
+            ValueNode.PathNode p2 = v2.asPathNode();
+            return p1.isExistsCheck() == p2.isExistsCheck() && p1.shouldExists() == p2.shouldExists()
+                    && p1.getPath().equals(p2.getPath());
+        }
+        return v1.equals(v2);
+    }
+
+    /**
+     * @return the constant outcome of an expression between literals, or the expression itself
+     */
+    private static ExpressionNode fold(RelationalExpressionNode node) {
+        if (!isLiteral(node.getLeft()) || !isLiteral(node.getRight())) {
+            return node;
+        }
+        try {
+            // literals do not need a context to be evaluated
+            return node.apply(null) ? Constant.TRUE : Constant.FALSE;
+        } catch (RuntimeException e) {
+            // let it fail when it is evaluated, as it would have
+            return node;
+        }
+    }
+
+    private static boolean isLiteral(ValueNode node) {
+        return node.isNumberNode() || node.isStringNode() || node.isBooleanNode() || node.isNullNode()
+                || node.isPatternNode() || node.isClassNode() || node.isValueListNode();
+    }
+
+    /**
+     * Estimates the cost of evaluating an expression: literal comparisons are cheaper than reading a property,
+     * which is cheaper than evaluating a path from the document root, a regular expression or a nested predicate.
+     */
+    static int cost(ExpressionNode node) {
+        if (node instanceof RelationalExpressionNode) {
+            RelationalExpressionNode relational = (RelationalExpressionNode) node;
+            return cost(relational.getLeft()) + cost(relational.getRelationalOperator()) + cost(relational.getRight());
+        } else if (node instanceof OrderedLogicalExpressionNode) {
+            int cost = 0;
+            for (ExpressionNode operand : ((OrderedLogicalExpressionNode) node).getOperands()) {
+                cost += cost(operand);
+            }
+            return cost;
+        } else if (node instanceof Constant) {
+            return LITERAL_COST;
+        }
+        return PREDICATE_COST;
+    }
+
+    private static int cost(ValueNode node) {
+        if (node.isPathNode()) {
+            Path path = node.asPathNode().getPath();
+            if (path.isRootPath()) {
+                return ROOT_PATH_COST;
+            }
+            return PropertyChain.of(path) != null ? PROPERTY_COST : PATH_COST;
+        } else if (node.isPredicateNode()) {
+            return PREDICATE_COST;
+        }
+        return LITERAL_COST;
+    }
+
+    private static int cost(RelationalOperator operator) {
+        switch (operator) {
+            case REGEX:
+                return REGEX_COST;
+            case IN:
+            case NIN:
+            case ALL:
+            case CONTAINS:
+            case SIZE:
+            case EMPTY:
+                return CONTAINER_COST;
+            default:
+                return LITERAL_COST;
+        }
+    }
+
+    /**
+     * The outcome of an expression that does not depend on the document.
+     */
+    static final class Constant extends ExpressionNode {
+
+        static final Constant TRUE = new Constant(true);
+        static final Constant FALSE = new Constant(false);
+
+        private final boolean value;
+
+        private Constant(boolean value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean apply(PredicateContext ctx) {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return String.valueOf(value);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.filter;
+
+import com.jayway.jsonpath.Predicate.PredicateContext;
+
+/**
+ * A comparison of a path with a number literal, like <code>@.price &lt; 10</code>, compiled when the filter is
+ * created.
+ * <p/>
+ * A numeric value of the path is compared to the literal directly, without the {@link ValueNode} conversion and
+ * {@link Evaluator} lookup of the generic evaluation. Other values fall back to the {@link Evaluator} of the operator.
+ */
+final class NumericComparison {
+
+    private final ValueNode.PathNode path;
+    private final ValueNode.NumberNode literal;
+    private final boolean pathOnLeft;
+    private final RelationalOperator operator;
+    private final Evaluator evaluator;
+
+    private NumericComparison(ValueNode.PathNode path, ValueNode.NumberNode literal, boolean pathOnLeft, RelationalOperator operator, Evaluator evaluator) {
+        this.path = path;
+        this.literal = literal;
+        this.pathOnLeft = pathOnLeft;
+        this.operator = operator;
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * @return a compiled comparison, or null if the expression is not a comparison of a path with a number literal
+     */
+    static NumericComparison create(ValueNode left, RelationalOperator operator, ValueNode right, Evaluator evaluator) {
+        if (evaluator == null || !isComparison(operator)) {
+            return null;
+        }
+        if (isComparablePath(left) && isLiteral(right)) {
+            return new NumericComparison(left.asPathNode(), right.asNumberNode(), true, operator, evaluator);
+        }
+        if (isLiteral(left) && isComparablePath(right)) {
+            return new NumericComparison(right.asPathNode(), left.asNumberNode(), false, operator, evaluator);
+        }
+        return null;
+    }
+
+    private static boolean isComparison(RelationalOperator operator) {
+        switch (operator) {
+            case LT:
+            case LTE:
+            case GT:
+            case GTE:
+            case EQ:
+            case NE:
+            case TSEQ:
+            case TSNE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isComparablePath(ValueNode node) {
+        return node.isPathNode() && !node.asPathNode().isExistsCheck();
+    }
+
+    private static boolean isLiteral(ValueNode node) {
+        return node.isNumberNode() && node.asNumberNode().getNumber() != null;
+    }
+
+    boolean apply(PredicateContext ctx) {
+        Object value = path.evaluateValue(ctx);
+        if (value instanceof Number) {
+            return matches(ValueNode.NumberNode.of((Number) value).compareTo(literal));
+        }
+
+        ValueNode valueNode = ValueNode.PathNode.valueNodeOf(value, ctx);
+        return pathOnLeft ? evaluator.evaluate(valueNode, literal, ctx) : evaluator.evaluate(literal, valueNode, ctx);
+    }
+
+    /**
+     * @param comparison the value of the path compared to the literal
+     */
+    private boolean matches(int comparison) {
+        if (!pathOnLeft) {
+            comparison = -comparison;
+        }
+        switch (operator) {
+            case LT:
+                return comparison < 0;
+            case LTE:
+                return comparison <= 0;
+            case GT:
+                return comparison > 0;
+            case GTE:
+                return comparison >= 0;
+            case EQ:
+            case TSEQ:
+                return comparison == 0;
+            default:
+                return comparison != 0;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.filter;
+
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.internal.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A chain of operands of one logical operator, created by the {@link FilterOptimizer} in the order of their
+ * estimated cost.
+ * <p/>
+ * With {@link Option#ADAPTIVE_FILTER_ORDERING} the node counts, per operand, how often it is evaluated and how
+ * often it decides the outcome of the chain (false for <code>&&</code>, true for <code>||</code>). Every
+ * {@link #REORDER_INTERVAL} evaluations the operands are reordered by their cost per decision, so an operand
+ * that rarely decides the outcome moves behind a more expensive operand that often does.
+ * <p/>
+ * The statistics belong to the node, not to an evaluation. Compiled filters are cached, see
+ * {@link FilterCompiler#compile(String)}, so a node adapts to every evaluation of its filter, by any thread and
+ * on any document. The counters are atomic and a reorder replaces the whole order, so concurrent evaluations
+ * lose no counts and always evaluate every operand once.
+ */
+final class OrderedLogicalExpressionNode extends ExpressionNode {
+
+    private static final Logger logger = LoggerFactory.getLogger(OrderedLogicalExpressionNode.class);
+
+    static final int REORDER_INTERVAL = 1024;
+
+    private final LogicalOperator operator;
+    private final ExpressionNode[] operands;
+    private final int[] costs;
+
+    // selectivity stats, only recorded with Option.ADAPTIVE_FILTER_ORDERING
+    private final AtomicIntegerArray evaluations;
+    private final AtomicIntegerArray decisions;
+    private final AtomicInteger chainEvaluations = new AtomicInteger();
+    private volatile int[] adaptiveOrder;
+
+    OrderedLogicalExpressionNode(LogicalOperator operator, List<ExpressionNode> operands) {
+        this.operator = operator;
+        this.operands = operands.toArray(new ExpressionNode[operands.size()]);
+        this.costs = new int[this.operands.length];
+        int[] order = new int[this.operands.length];
+        for (int i = 0; i < this.operands.length; i++) {
+            costs[i] = FilterOptimizer.cost(this.operands[i]);
+            order[i] = i;
+        }
+        this.evaluations = new AtomicIntegerArray(this.operands.length);
+        this.decisions = new AtomicIntegerArray(this.operands.length);
+        this.adaptiveOrder = order;
+    }
+
+    LogicalOperator getOperator() {
+        return operator;
+    }
+
+    List<ExpressionNode> getOperands() {
+        return Collections.unmodifiableList(Arrays.asList(operands));
+    }
+
+    /**
+     * @return the operands in the order they are evaluated with {@link Option#ADAPTIVE_FILTER_ORDERING}
+     */
+    List<ExpressionNode> getAdaptiveOperands() {
+        List<ExpressionNode> ordered = new ArrayList<ExpressionNode>(operands.length);
+        for (int operand : adaptiveOrder) {
+            ordered.add(operands[operand]);
+        }
+        return ordered;
+    }
+
+    /**
+     * @return how often the operand has been evaluated with {@link Option#ADAPTIVE_FILTER_ORDERING}
+     */
+    int evaluations(int operand) {
+        return evaluations.get(operand);
+    }
+
+    /**
+     * @return the fraction of its evaluations in which the operand decided the outcome of the chain
+     */
+    double selectivity(int operand) {
+        int evaluated = evaluations.get(operand);
+        return evaluated == 0 ? 0 : (double) decisions.get(operand) / evaluated;
+    }
+
+    @Override
+    public boolean apply(PredicateContext ctx) {
+        boolean decisive = operator == LogicalOperator.OR;
+        if (ctx.configuration().containsOption(Option.ADAPTIVE_FILTER_ORDERING)) {
+            return applyAdaptive(ctx, decisive);
+        }
+        for (ExpressionNode operand : operands) {
+            if (operand.apply(ctx) == decisive) {
+                return decisive;
+            }
+        }
+        return !decisive;
+    }
+
+    private boolean applyAdaptive(PredicateContext ctx, boolean decisive) {
+        if (chainEvaluations.incrementAndGet() % REORDER_INTERVAL == 0) {
+            reorder();
+        }
+        for (int operand : adaptiveOrder) {
+            evaluations.incrementAndGet(operand);
+            if (operands[operand].apply(ctx) == decisive) {
+                decisions.incrementAndGet(operand);
+                return decisive;
+            }
+        }
+        return !decisive;
+    }
+
+    private void reorder() {
+        Integer[] order = new Integer[operands.length];
+        final double[] rank = new double[operands.length];
+        for (int i = 0; i < operands.length; i++) {
+            order[i] = i;
+            // expected cost per decision, smoothed so unevaluated operands keep their estimated position
+            double decisionRate = (decisions.get(i) + 1.0) / (evaluations.get(i) + 2.0);
+            rank[i] = (costs[i] + 1) / decisionRate;
+        }
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer o1, Integer o2) {
+                return Double.compare(rank[o1], rank[o2]);
+            }
+        });
+        int[] reordered = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            reordered[i] = order[i];
+        }
+        if (!Arrays.equals(reordered, adaptiveOrder)) {
+            if (logger.isDebugEnabled()) {
+                StringBuilder stats = new StringBuilder();
+                for (int operand : reordered) {
+                    stats.append(operands[operand]).append(" selectivity ").append(selectivity(operand)).append("; ");
+                }
+                logger.debug("Reordered {} by selectivity: {}", this, stats);
+            }
+            adaptiveOrder = reordered;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "(" + Utils.join(" " + operator.getOperatorString() + " ", Arrays.asList(operands)) + ")";
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.filter;
+
+import com.jayway.jsonpath.internal.ClockMap;
+
+import java.util.regex.Pattern;
+
+/**
+ * Matches strings against a regular expression as a whole, like {@link java.util.regex.Matcher#matches()}.
+ * <p/>
+ * Patterns that are a literal, optionally preceded and/or followed by <code>.*</code>, are matched with string
+ * operations instead: <code>abc</code> as equals, <code>abc.*</code> as prefix, <code>.*abc</code> as suffix and
+ * <code>.*abc.*</code> as contains. This also applies with the case insensitive flag, which, as in
+ * {@link java.util.regex}, only folds the case of US-ASCII characters. Anchors at the start and end of the pattern
+ * make no difference when the whole string is matched. Other patterns are matched by the regex engine.
+ */
+final class PatternMatcher {
+
+    private static final int CACHE_SIZE = 400;
+
+    // compiled patterns by flags and regular expression
+    private static final ClockMap<PatternMatcher> cache = new ClockMap<PatternMatcher>(CACHE_SIZE);
+
+    private static final String META_CHARACTERS = "\\^$.|?*+()[]{}";
+    private static final String ANY = ".*";
+
+    private enum Kind {
+        REGEX, EXACT, PREFIX, SUFFIX, CONTAINS
+    }
+
+    private final Pattern pattern;
+    private final Kind kind;
+    private final String literal;
+    private final boolean ignoreCase;
+
+    private PatternMatcher(Pattern pattern, Kind kind, String literal) {
+        this.pattern = pattern;
+        this.kind = kind;
+        this.literal = literal;
+        this.ignoreCase = pattern.flags() == Pattern.CASE_INSENSITIVE;
+    }
+
+    /**
+     * Compiles a regular expression, or returns the matcher it was compiled to before.
+     */
+    static PatternMatcher compile(String regex, int flags) {
+        String key = flags + "/" + regex;
+        PatternMatcher matcher = cache.get(key);
+        if (matcher == null) {
+            matcher = of(Pattern.compile(regex, flags));
+            cache.put(key, matcher);
+        }
+        return matcher;
+    }
+
+    static PatternMatcher of(Pattern pattern) {
+        if (pattern.flags() != 0 && pattern.flags() != Pattern.CASE_INSENSITIVE) {
+            return new PatternMatcher(pattern, Kind.REGEX, null);
+        }
+        String regex = pattern.pattern();
+        if (regex.startsWith("^")) {
+            regex = regex.substring(1);
+        }
+        if (regex.endsWith("$") && !isEscaped(regex, regex.length() - 1)) {
+            regex = regex.substring(0, regex.length() - 1);
+        }
+        boolean anyBefore = regex.startsWith(ANY);
+        if (anyBefore) {
+            regex = regex.substring(ANY.length());
+        }
+        boolean anyAfter = regex.endsWith(ANY) && !isEscaped(regex, regex.length() - ANY.length());
+        if (anyAfter) {
+            regex = regex.substring(0, regex.length() - ANY.length());
+        }
+
+        String literal = unescapeLiteral(regex);
+        if (literal == null || (literal.length() == 0 && (anyBefore || anyAfter))) {
+            return new PatternMatcher(pattern, Kind.REGEX, null);
+        }
+        Kind kind;
+        if (anyBefore && anyAfter) {
+            kind = Kind.CONTAINS;
+        } else if (anyBefore) {
+            kind = Kind.SUFFIX;
+        } else if (anyAfter) {
+            kind = Kind.PREFIX;
+        } else {
+            kind = Kind.EXACT;
+        }
+        return new PatternMatcher(pattern, kind, literal);
+    }
+
+    private static boolean isEscaped(String regex, int index) {
+        int backslashes = 0;
+        while (index - backslashes - 1 >= 0 && regex.charAt(index - backslashes - 1) == '\\') {
+            backslashes++;
+        }
+        return backslashes % 2 == 1;
+    }
+
+    /**
+     * @return the string the regular expression matches literally, or null if it is not a literal
+     */
+    private static String unescapeLiteral(String regex) {
+        StringBuilder literal = new StringBuilder(regex.length());
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                if (i + 1 == regex.length()) {
+                    return null;
+                }
+                char escaped = regex.charAt(++i);
+                // a backslash before a letter or digit is a construct, before anything else it quotes
+                if (Character.isLetterOrDigit(escaped)) {
+                    return null;
+                }
+                c = escaped;
+            } else if (META_CHARACTERS.indexOf(c) != -1) {
+                return null;
+            }
+            if (isLineTerminator(c) || Character.isHighSurrogate(c) || Character.isLowSurrogate(c)) {
+                // '.' does not match line terminators, keep the literal free of them so only the input needs checking
+                return null;
+            }
+            literal.append(c);
+        }
+        return literal.toString();
+    }
+
+    Pattern getPattern() {
+        return pattern;
+    }
+
+    boolean matches(String input) {
+        switch (kind) {
+            case EXACT:
+                return input.length() == literal.length() && regionMatches(input, 0);
+            case PREFIX:
+                return input.length() >= literal.length() && regionMatches(input, 0) && !hasLineTerminator(input);
+            case SUFFIX:
+                return input.length() >= literal.length() && regionMatches(input, input.length() - literal.length()) && !hasLineTerminator(input);
+            case CONTAINS:
+                return indexOf(input) != -1 && !hasLineTerminator(input);
+            default:
+                return pattern.matcher(input).matches();
+        }
+    }
+
+    private int indexOf(String input) {
+        if (!ignoreCase) {
+            return input.indexOf(literal);
+        }
+        for (int i = 0; i + literal.length() <= input.length(); i++) {
+            if (regionMatches(input, i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean regionMatches(String input, int offset) {
+        if (!ignoreCase) {
+            return input.startsWith(literal, offset);
+        }
+        for (int i = 0; i < literal.length(); i++) {
+            char c1 = input.charAt(offset + i);
+            char c2 = literal.charAt(i);
+            if (c1 != c2 && (c1 >= 128 || c2 >= 128 || Character.toLowerCase(c1) != Character.toLowerCase(c2))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasLineTerminator(String input) {
+        for (int i = 0; i < input.length(); i++) {
+            if (isLineTerminator(input.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+}
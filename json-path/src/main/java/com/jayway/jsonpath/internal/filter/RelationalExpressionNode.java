@@ -10,15 +10,31 @@ public class RelationalExpressionNode extends ExpressionNode {
     private final ValueNode left;
     private final RelationalOperator relationalOperator;
     private final ValueNode right;
+    private final Evaluator evaluator;
+    private final NumericComparison numericComparison;
 
     public RelationalExpressionNode(ValueNode left, RelationalOperator relationalOperator, ValueNode right) {
         this.left = left;
         this.relationalOperator = relationalOperator;
         this.right = right;
+        this.evaluator = EvaluatorFactory.createEvaluator(relationalOperator);
+        this.numericComparison = NumericComparison.create(left, relationalOperator, right, evaluator);
 
         logger.trace("ExpressionNode {}", toString());
     }
 
+    ValueNode getLeft() {
+        return left;
+    }
+
+    RelationalOperator getRelationalOperator() {
+        return relationalOperator;
+    }
+
+    ValueNode getRight() {
+        return right;
+    }
+
     @Override
     public String toString() {
         if(relationalOperator == RelationalOperator.EXISTS){
@@ -30,6 +46,9 @@ public class RelationalExpressionNode extends ExpressionNode {
 
     @Override
     public boolean apply(PredicateContext ctx) {
+        if(numericComparison != null){
+            return numericComparison.apply(ctx);
+        }
         ValueNode l = left;
         ValueNode r = right;
 
@@ -39,7 +58,6 @@ public class RelationalExpressionNode extends ExpressionNode {
         if(right.isPathNode()){
             r = right.asPathNode().evaluate(ctx);
         }
-        Evaluator evaluator = EvaluatorFactory.createEvaluator(relationalOperator);
         if(evaluator != null){
             return evaluator.evaluate(l, r, ctx);
         }
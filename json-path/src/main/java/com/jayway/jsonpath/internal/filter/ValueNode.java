@@ -8,8 +8,10 @@ import com.jayway.jsonpath.PathNotFoundException;
 import com.jayway.jsonpath.Predicate;
 import com.jayway.jsonpath.internal.Path;
 import com.jayway.jsonpath.internal.Utils;
+import com.jayway.jsonpath.internal.path.DocumentIndex;
 import com.jayway.jsonpath.internal.path.PathCompiler;
 import com.jayway.jsonpath.internal.path.PredicateContextImpl;
+import com.jayway.jsonpath.internal.path.PropertyChain;
 import com.jayway.jsonpath.spi.json.JsonProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,9 +20,11 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 public abstract class ValueNode {
@@ -177,7 +181,7 @@ public abstract class ValueNode {
         else if(isJson(o)) return createStringNode(o.toString(), false);
         else if(o instanceof String) return createStringNode(o.toString(), false);
         else if(o instanceof Character) return createStringNode(o.toString(), false);
-        else if(o instanceof Number) return createNumberNode(o.toString());
+        else if(o instanceof Number) return NumberNode.of((Number) o);
         else if(o instanceof Boolean) return createBooleanNode(o.toString());
         else if(o instanceof Pattern) return createPatternNode((Pattern)o);
         else throw new JsonPathException("Could not determine value type");
@@ -239,6 +243,7 @@ public abstract class ValueNode {
     public static class PatternNode extends ValueNode {
         private final String pattern;
         private final Pattern compiledPattern;
+        private final PatternMatcher matcher;
 
         private PatternNode(CharSequence charSequence) {
             String tmp = charSequence.toString();
@@ -246,12 +251,14 @@ public abstract class ValueNode {
             int end = tmp.lastIndexOf('/');
             int flags = tmp.endsWith("/i") ? Pattern.CASE_INSENSITIVE : 0;
             this.pattern = tmp.substring(begin + 1, end);
-            this.compiledPattern  = Pattern.compile(pattern, flags);
+            this.matcher = PatternMatcher.compile(pattern, flags);
+            this.compiledPattern = matcher.getPattern();
         }
 
         public PatternNode(Pattern pattern) {
             this.pattern = pattern.pattern();
             this.compiledPattern = pattern;
+            this.matcher = PatternMatcher.of(pattern);
         }
 
 
@@ -259,6 +266,13 @@ public abstract class ValueNode {
             return compiledPattern;
         }
 
+        /**
+         * @return true if the pattern matches the whole string
+         */
+        boolean matches(String string) {
+            return matcher.matches(string);
+        }
+
         @Override
         public Class<?> type(Predicate.PredicateContext ctx) {
             return Void.TYPE;
@@ -301,6 +315,8 @@ public abstract class ValueNode {
     public static class JsonNode extends ValueNode {
         private final Object json;
         private final boolean parsed;
+        // the value list of a literal, parsed by the provider it was created for
+        private volatile ParsedValueList parsedValueList;
 
         private JsonNode(CharSequence charSequence) {
             json = charSequence.toString();
@@ -331,11 +347,25 @@ public abstract class ValueNode {
         }
 
         public ValueNode asValueListNode(Predicate.PredicateContext ctx){
-            if(!isArray(ctx)){
+            if(parsed){
+                return toValueListNode(ctx);
+            }
+            JsonProvider jsonProvider = ctx.configuration().jsonProvider();
+            ParsedValueList valueList = parsedValueList;
+            if(valueList == null || valueList.jsonProvider != jsonProvider){
+                valueList = new ParsedValueList(jsonProvider, toValueListNode(ctx));
+                parsedValueList = valueList;
+            }
+            return valueList.valueListNode;
+        }
+
+        private ValueNode toValueListNode(Predicate.PredicateContext ctx){
+            Object array = parse(ctx);
+            if(!ctx.configuration().jsonProvider().isArray(array)){
                 return UNDEFINED;
             } else {
                 Collection nodes = new ArrayList();
-                for (Object value : ctx.configuration().jsonProvider().toIterable(parse(ctx))) {
+                for (Object value : ctx.configuration().jsonProvider().toIterable(array)) {
                     nodes.add(value);
                 }
                 return new ValueListNode(nodes);
@@ -393,6 +423,16 @@ public abstract class ValueNode {
         }
     }
 
+    private static final class ParsedValueList {
+        private final JsonProvider jsonProvider;
+        private final ValueNode valueListNode;
+
+        private ParsedValueList(JsonProvider jsonProvider, ValueNode valueListNode) {
+            this.jsonProvider = jsonProvider;
+            this.valueListNode = valueListNode;
+        }
+    }
+
     public static class StringNode extends ValueNode {
         private final String string;
         private boolean useSingleQuote = true;
@@ -470,28 +510,123 @@ public abstract class ValueNode {
         }
     }
 
+    /**
+     * A number. Integers and doubles are kept as primitives and compared as such, the BigDecimal
+     * is only created for numbers that are not exactly representable as either (or on request).
+     */
     public static class NumberNode extends ValueNode {
 
         public static NumberNode NAN = new NumberNode((BigDecimal)null);
 
-        private final BigDecimal number;
+        // longs of larger magnitude do not compare exactly as doubles
+        private static final long MAX_EXACT_DOUBLE = 1L << 53;
+
+        private BigDecimal number;
+        private final boolean isLong;
+        private final long longValue;
+        private final boolean isDouble;
+        private final double doubleValue;
 
         private NumberNode(BigDecimal number) {
             this.number = number;
+            long l = 0;
+            boolean fitsLong = false;
+            if (number != null) {
+                try {
+                    l = number.longValueExact();
+                    fitsLong = true;
+                } catch (ArithmeticException e) {
+                    // not an integer, or too large
+                }
+            }
+            this.isLong = fitsLong;
+            this.longValue = l;
+            if (fitsLong) {
+                this.isDouble = l > -MAX_EXACT_DOUBLE && l < MAX_EXACT_DOUBLE;
+                this.doubleValue = l;
+            } else if (number != null) {
+                double d = number.doubleValue();
+                this.isDouble = !Double.isInfinite(d) && new BigDecimal(Double.toString(d)).compareTo(number) == 0;
+                this.doubleValue = d;
+            } else {
+                this.isDouble = false;
+                this.doubleValue = 0;
+            }
         }
+
         private NumberNode(CharSequence num) {
-            number = new BigDecimal(num.toString());
+            this(new BigDecimal(num.toString()));
+        }
+
+        private NumberNode(long l) {
+            this.isLong = true;
+            this.longValue = l;
+            this.isDouble = l > -MAX_EXACT_DOUBLE && l < MAX_EXACT_DOUBLE;
+            this.doubleValue = l;
+        }
+
+        private NumberNode(double d) {
+            this.isLong = false;
+            this.longValue = 0;
+            this.isDouble = true;
+            this.doubleValue = d;
+        }
+
+        static NumberNode of(Number n) {
+            if (n instanceof Integer || n instanceof Long || n instanceof Short || n instanceof Byte) {
+                return new NumberNode(n.longValue());
+            } else if (n instanceof Double && !((Double) n).isNaN() && !((Double) n).isInfinite()) {
+                // a double compares as the BigDecimal of its string representation, the ordering of those is the
+                // ordering of the doubles themselves
+                return new NumberNode(n.doubleValue());
+            } else if (n instanceof BigDecimal) {
+                return new NumberNode((BigDecimal) n);
+            }
+            return new NumberNode(n.toString());
         }
 
         @Override
         public StringNode asStringNode() {
-            return new StringNode(number.toString(), false);
+            return new StringNode(getNumber().toString(), false);
         }
 
         public BigDecimal getNumber() {
+            if (number == null && this != NAN) {
+                number = isLong ? BigDecimal.valueOf(longValue) : new BigDecimal(Double.toString(doubleValue));
+            }
             return number;
         }
 
+        /**
+         * @return a key that is equal for numbers that compare as equal, for hashing
+         */
+        Object valueKey() {
+            if (isLong) {
+                return longValue;
+            } else if (isDouble && doubleValue != Math.rint(doubleValue)) {
+                return doubleValue;
+            }
+            BigDecimal n = getNumber();
+            try {
+                return n.longValueExact();
+            } catch (ArithmeticException e) {
+                return n.stripTrailingZeros();
+            }
+        }
+
+        /**
+         * Compares the values of two numbers, ignoring their scale.
+         */
+        public int compareTo(NumberNode that) {
+            if (isLong && that.isLong) {
+                return longValue < that.longValue ? -1 : (longValue == that.longValue ? 0 : 1);
+            } else if (isDouble && that.isDouble) {
+                // -0.0 equals 0.0, as their BigDecimals do
+                return doubleValue < that.doubleValue ? -1 : (doubleValue == that.doubleValue ? 0 : 1);
+            }
+            return getNumber().compareTo(that.getNumber());
+        }
+
         @Override
         public Class<?> type(Predicate.PredicateContext ctx) {
             return Number.class;
@@ -507,7 +642,7 @@ public abstract class ValueNode {
 
         @Override
         public String toString() {
-            return number.toString();
+            return getNumber().toString();
         }
 
         @Override
@@ -520,7 +655,7 @@ public abstract class ValueNode {
             if(that == NumberNode.NAN){
                 return false;
             } else {
-                return number.compareTo(that.number) == 0;
+                return compareTo(that) == 0;
             }
         }
     }
@@ -699,14 +834,78 @@ public abstract class ValueNode {
 
         private List<ValueNode> nodes = new ArrayList<ValueNode>();
 
+        // membership indexes, built on first use
+        private volatile Set<Object> numberKeys;
+        private volatile Set<String> stringKeys;
+        private volatile List<ValueNode> otherNodes;
+
         public ValueListNode(Collection<?> values) {
             for (Object value : values) {
                 nodes.add(toValueNode(value));
             }
         }
 
+        /**
+         * Checks if the list contains a node equal to the given node. Numbers and strings, which also equal
+         * each other when their representations match, are looked up by hash.
+         */
         public boolean contains(ValueNode node){
-            return nodes.contains(node);
+            if(node.isNumberNode() && node != NumberNode.NAN){
+                return numberKeys().contains(node.asNumberNode().valueKey());
+            } else if(node.isStringNode()){
+                return stringKeys().contains(node.asStringNode().getString());
+            }
+            for (ValueNode other : otherNodes()) {
+                if(node.equals(other)){
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Set<Object> numberKeys() {
+            Set<Object> keys = numberKeys;
+            if(keys == null){
+                keys = new HashSet<Object>();
+                for (ValueNode node : nodes) {
+                    if(node.isNumberNode() || node.isStringNode()){
+                        NumberNode number = node.asNumberNode();
+                        if(number != NumberNode.NAN){
+                            keys.add(number.valueKey());
+                        }
+                    }
+                }
+                numberKeys = keys;
+            }
+            return keys;
+        }
+
+        private Set<String> stringKeys() {
+            Set<String> keys = stringKeys;
+            if(keys == null){
+                keys = new HashSet<String>();
+                for (ValueNode node : nodes) {
+                    if(node.isNumberNode() || node.isStringNode()){
+                        keys.add(node.asStringNode().getString());
+                    }
+                }
+                stringKeys = keys;
+            }
+            return keys;
+        }
+
+        private List<ValueNode> otherNodes() {
+            List<ValueNode> others = otherNodes;
+            if(others == null){
+                others = new ArrayList<ValueNode>();
+                for (ValueNode node : nodes) {
+                    if(!node.isNumberNode() && !node.isStringNode()){
+                        others.add(node);
+                    }
+                }
+                otherNodes = others;
+            }
+            return others;
         }
 
         public List<ValueNode> getNodes() {
@@ -754,6 +953,9 @@ public abstract class ValueNode {
         private final Path path;
         private final boolean existsCheck;
         private final boolean shouldExist;
+        private final PropertyChain propertyChain;
+        // only depends on the json provider, created again when the node is evaluated with another one
+        private volatile Configuration existsCheckConfiguration;
 
         PathNode(Path path) {
             this(path, false, false);
@@ -767,6 +969,7 @@ public abstract class ValueNode {
             this.path = path;
             this.existsCheck = existsCheck;
             this.shouldExist = shouldExist;
+            this.propertyChain = PropertyChain.of(path);
             logger.trace("PathNode {} existsCheck: {}", path, existsCheck);
         }
 
@@ -805,41 +1008,70 @@ public abstract class ValueNode {
         }
 
         public ValueNode evaluate(Predicate.PredicateContext ctx) {
-            Configuration c = Configuration.builder().jsonProvider(ctx.configuration().jsonProvider()).options(Option.REQUIRE_PROPERTIES).build();
             if (isExistsCheck()) {
                 try {
-                    Object result = path.evaluate(ctx.item(), ctx.root(), c).getValue(false);
+                    Configuration c = existsCheckConfiguration(ctx.configuration().jsonProvider());
+                    DocumentIndex.Reference documentIndex = ctx instanceof PredicateContextImpl ? ((PredicateContextImpl) ctx).documentIndex() : null;
+                    Object result = path.evaluate(ctx.item(), ctx.root(), c, Integer.MAX_VALUE, documentIndex).getValue(false);
                     return result == JsonProvider.UNDEFINED ? ValueNode.FALSE : ValueNode.TRUE;
                 } catch (PathNotFoundException e) {
                     return ValueNode.FALSE;
                 }
             } else {
-                try {
-                    Object res;
-                    if (ctx instanceof PredicateContextImpl) {
-                        //This will use cache for document ($) queries
-                        PredicateContextImpl ctxi = (PredicateContextImpl) ctx;
-                        res = ctxi.evaluate(path);
-                    } else {
-                        Object doc = path.isRootPath() ? ctx.root() : ctx.item();
-                        res = path.evaluate(doc, ctx.root(), ctx.configuration()).getValue();
-                    }
-                    res = ctx.configuration().jsonProvider().unwrap(res);
-
-                    if (res instanceof Number) return ValueNode.createNumberNode(res.toString());
-                    else if (res instanceof BigDecimal) return ValueNode.createNumberNode(res.toString());
-                    else if (res instanceof String) return ValueNode.createStringNode(res.toString(), false);
-                    else if (res instanceof Boolean) return ValueNode.createBooleanNode(res.toString());
-                    else if (res == null) return ValueNode.NULL_NODE;
-                    else if (ctx.configuration().jsonProvider().isArray(res)) return ValueNode.createJsonNode(res);
-                    else if (ctx.configuration().jsonProvider().isMap(res)) return ValueNode.createJsonNode(res);
-                    else throw new JsonPathException("Could not convert " + res.toString() + " to a ValueNode");
-                } catch (PathNotFoundException e) {
-                    return ValueNode.UNDEFINED;
+                return valueNodeOf(evaluateValue(ctx), ctx);
+            }
+        }
+
+        /**
+         * @return a configuration with the given json provider and only the {@link Option#REQUIRE_PROPERTIES} option
+         */
+        Configuration existsCheckConfiguration(JsonProvider jsonProvider) {
+            Configuration configuration = existsCheckConfiguration;
+            if (configuration == null || configuration.jsonProvider() != jsonProvider) {
+                configuration = Configuration.builder().jsonProvider(jsonProvider).options(Option.REQUIRE_PROPERTIES).build();
+                existsCheckConfiguration = configuration;
+            }
+            return configuration;
+        }
+
+        /**
+         * Evaluates the path without converting the result to a ValueNode.
+         *
+         * @return the unwrapped result, {@link JsonProvider#UNDEFINED} if the path was not found
+         */
+        Object evaluateValue(Predicate.PredicateContext ctx) {
+            if (propertyChain != null && ctx.configuration().getEvaluationListeners().isEmpty()) {
+                // listeners are notified of results, only the engine can do that
+                Object res = propertyChain.read(ctx.item(), ctx.configuration());
+                return res == JsonProvider.UNDEFINED ? res : ctx.configuration().jsonProvider().unwrap(res);
+            }
+            try {
+                Object res;
+                if (ctx instanceof PredicateContextImpl) {
+                    //This will use cache for document ($) queries
+                    PredicateContextImpl ctxi = (PredicateContextImpl) ctx;
+                    res = ctxi.evaluate(path);
+                } else {
+                    Object doc = path.isRootPath() ? ctx.root() : ctx.item();
+                    res = path.evaluate(doc, ctx.root(), ctx.configuration()).getValue();
                 }
+                return ctx.configuration().jsonProvider().unwrap(res);
+            } catch (PathNotFoundException e) {
+                return JsonProvider.UNDEFINED;
             }
         }
 
+        static ValueNode valueNodeOf(Object res, Predicate.PredicateContext ctx) {
+            if (res == JsonProvider.UNDEFINED) return ValueNode.UNDEFINED;
+            else if (res instanceof Number) return NumberNode.of((Number) res);
+            else if (res instanceof String) return ValueNode.createStringNode(res.toString(), false);
+            else if (res instanceof Boolean) return ValueNode.createBooleanNode(res.toString());
+            else if (res == null) return ValueNode.NULL_NODE;
+            else if (ctx.configuration().jsonProvider().isArray(res)) return ValueNode.createJsonNode(res);
+            else if (ctx.configuration().jsonProvider().isMap(res)) return ValueNode.createJsonNode(res);
+            else throw new JsonPathException("Could not convert " + res.toString() + " to a ValueNode");
+        }
+
 
     }
 }
\ No newline at end of file
@@ -42,8 +42,16 @@ public class ArrayPathToken extends PathToken {
         this.arraySliceOperation = null;
     }
 
+    ArraySliceOperation getArraySliceOperation() {
+        return arraySliceOperation;
+    }
+
+    ArrayIndexOperation getArrayIndexOperation() {
+        return arrayIndexOperation;
+    }
+
     @Override
-    public void evaluate(String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+    public void evaluate(PathSegment currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
         if (! checkArrayModel(currentPath, model, ctx))
             return;
         if(arraySliceOperation != null){
@@ -54,7 +62,7 @@ public class ArrayPathToken extends PathToken {
 
     }
 
-    public void evaluateIndexOperation(String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+    public void evaluateIndexOperation(PathSegment currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
 
         if (! checkArrayModel(currentPath, model, ctx))
             return;
@@ -63,12 +71,15 @@ public class ArrayPathToken extends PathToken {
             handleArrayIndex(arrayIndexOperation.indexes().get(0), currentPath, model, ctx);
         } else {
             for (Integer index : arrayIndexOperation.indexes()) {
+                if (ctx.isLimitReached()) {
+                    break;
+                }
                 handleArrayIndex(index, currentPath,  model, ctx);
             }
         }
     }
 
-    public void evaluateSliceOperation(String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+    public void evaluateSliceOperation(PathSegment currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
 
         if (! checkArrayModel(currentPath, model, ctx))
             return;
@@ -86,7 +97,7 @@ public class ArrayPathToken extends PathToken {
         }
     }
 
-    public void sliceFrom(ArraySliceOperation operation, String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+    public void sliceFrom(ArraySliceOperation operation, PathSegment currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
         int length = ctx.jsonProvider().length(model);
         int from = operation.from();
         if (from < 0) {
@@ -100,12 +111,12 @@ public class ArrayPathToken extends PathToken {
         if (length == 0 || from >= length) {
             return;
         }
-        for (int i = from; i < length; i++) {
+        for (int i = from; i < length && !ctx.isLimitReached(); i++) {
             handleArrayIndex(i, currentPath, model, ctx);
         }
     }
 
-    public void sliceBetween(ArraySliceOperation operation, String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+    public void sliceBetween(ArraySliceOperation operation, PathSegment currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
         int length = ctx.jsonProvider().length(model);
         int from = operation.from();
         int to = operation.to();
@@ -118,12 +129,12 @@ public class ArrayPathToken extends PathToken {
 
         logger.debug("Slice between indexes on array with length: {}. From index: {} to: {}. Input: {}", length, from, to, toString());
 
-        for (int i = from; i < to; i++) {
+        for (int i = from; i < to && !ctx.isLimitReached(); i++) {
             handleArrayIndex(i, currentPath, model, ctx);
         }
     }
 
-    public void sliceTo(ArraySliceOperation operation, String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+    public void sliceTo(ArraySliceOperation operation, PathSegment currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
         int length = ctx.jsonProvider().length(model);
         if (length == 0) {
             return;
@@ -137,7 +148,7 @@ public class ArrayPathToken extends PathToken {
 
         logger.debug("Slice to index on array with length: {}. From index: 0 to: {}. Input: {}", length, to, toString());
 
-        for (int i = 0; i < to; i++) {
+        for (int i = 0; i < to && !ctx.isLimitReached(); i++) {
             handleArrayIndex(i, currentPath, model, ctx);
         }
     }
@@ -169,7 +180,7 @@ public class ArrayPathToken extends PathToken {
      * @throws PathNotFoundException if model is null and evaluation must be interrupted
      * @throws InvalidPathException if model is not an array and evaluation must be interrupted
      */
-    protected boolean checkArrayModel(String currentPath, Object model, EvaluationContextImpl ctx) {
+    protected boolean checkArrayModel(PathSegment currentPath, Object model, EvaluationContextImpl ctx) {
         if (model == null){
             if (! isUpstreamDefinite()) {
                 return false;
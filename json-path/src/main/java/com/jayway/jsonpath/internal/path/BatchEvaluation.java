@@ -0,0 +1,184 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.internal.EvaluationAbortException;
+import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.internal.PathRef;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * State of a {@link PathTrie} evaluation. Every path has its own evaluation context, a path that fails
+ * or is aborted by an {@link com.jayway.jsonpath.EvaluationListener} is done while the other paths
+ * are evaluated further.
+ */
+class BatchEvaluation {
+
+    private final Path[] paths;
+    private final EvaluationContextImpl[] contexts;
+    private final RuntimeException[] failures;
+    private final boolean[] done;
+    private final Configuration configuration;
+    private int remaining;
+
+    BatchEvaluation(Path[] paths, Object rootDocument, Configuration configuration, DocumentIndex.Reference documentIndex) {
+        this.paths = paths;
+        this.configuration = configuration;
+        this.contexts = new EvaluationContextImpl[paths.length];
+        this.failures = new RuntimeException[paths.length];
+        this.done = new boolean[paths.length];
+        this.remaining = paths.length;
+        for (int i = 0; i < paths.length; i++) {
+            contexts[i] = new EvaluationContextImpl(paths[i], rootDocument, configuration, false, Integer.MAX_VALUE, documentIndex);
+        }
+    }
+
+    Configuration configuration() {
+        return configuration;
+    }
+
+    EvaluationContextImpl context(int path) {
+        return contexts[path];
+    }
+
+    boolean isDone(int path) {
+        return done[path];
+    }
+
+    boolean isDefinite(int path) {
+        return paths[path].isDefinite();
+    }
+
+    /**
+     * @return true if no path is left to evaluate
+     */
+    boolean isFinished() {
+        return remaining == 0;
+    }
+
+    void finish(int path) {
+        if (!done[path]) {
+            done[path] = true;
+            remaining--;
+        }
+    }
+
+    void fail(int path, RuntimeException e) {
+        if (!done[path]) {
+            failures[path] = e;
+            finish(path);
+        }
+    }
+
+    void addResult(int path, PathSegment currentPath, Object model) {
+        try {
+            contexts[path].addResult(currentPath, PathRef.NO_OP, model);
+        } catch (EvaluationAbortException abort) {
+            finish(path);
+        } catch (RuntimeException e) {
+            fail(path, e);
+        }
+    }
+
+    void evaluate(int path, PathToken token, PathSegment currentPath, Object model) {
+        try {
+            token.evaluate(currentPath, PathRef.NO_OP, model, contexts[path]);
+        } catch (EvaluationAbortException abort) {
+            finish(path);
+        } catch (RuntimeException e) {
+            fail(path, e);
+        }
+    }
+
+    /**
+     * Lets the token handle a property that is not present in an object.
+     */
+    void missingProperty(int path, PathToken token, PathSegment currentPath, String property) {
+        try {
+            Object empty = configuration.jsonProvider().createMap();
+            token.handleObjectProperty(currentPath, empty, contexts[path], Collections.singletonList(property));
+        } catch (EvaluationAbortException abort) {
+            finish(path);
+        } catch (RuntimeException e) {
+            fail(path, e);
+        }
+    }
+
+    EvaluationContext[] results() {
+        EvaluationContext[] res = new EvaluationContext[contexts.length];
+        for (int i = 0; i < contexts.length; i++) {
+            res[i] = failures[i] == null ? contexts[i] : new FailedEvaluationContext(contexts[i], failures[i]);
+        }
+        return res;
+    }
+
+    /**
+     * Rethrows the exception the evaluation of a path failed with when the result is accessed.
+     */
+    private static final class FailedEvaluationContext implements EvaluationContext {
+        private final EvaluationContext ctx;
+        private final RuntimeException failure;
+
+        private FailedEvaluationContext(EvaluationContext ctx, RuntimeException failure) {
+            this.ctx = ctx;
+            this.failure = failure;
+        }
+
+        @Override
+        public Configuration configuration() {
+            return ctx.configuration();
+        }
+
+        @Override
+        public Object rootDocument() {
+            return ctx.rootDocument();
+        }
+
+        @Override
+        public <T> T getValue() {
+            throw failure;
+        }
+
+        @Override
+        public <T> T getValue(boolean unwrap) {
+            throw failure;
+        }
+
+        @Override
+        public <T> T getPath() {
+            throw failure;
+        }
+
+        @Override
+        public List<String> getPathList() {
+            throw failure;
+        }
+
+        @Override
+        public int getResultCount() {
+            throw failure;
+        }
+
+        @Override
+        public Collection<PathRef> updateOperations() {
+            throw failure;
+        }
+    }
+}
@@ -15,6 +15,7 @@
 package com.jayway.jsonpath.internal.path;
 
 import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.Option;
 import com.jayway.jsonpath.internal.EvaluationAbortException;
 import com.jayway.jsonpath.internal.EvaluationContext;
 import com.jayway.jsonpath.internal.Path;
@@ -22,18 +23,31 @@ import com.jayway.jsonpath.internal.PathRef;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Iterator;
+
 public class CompiledPath implements Path {
 
     private static final Logger logger = LoggerFactory.getLogger(CompiledPath.class);
 
     private final RootPathToken root;
 
+    private final PathProgram program;
+
     private final boolean isRootPath;
 
 
     public CompiledPath(RootPathToken root, boolean isRootPath) {
         this.root = root;
         this.isRootPath = isRootPath;
+        this.program = PathProgram.compile(root);
+    }
+
+    RootPathToken getRoot() {
+        return root;
+    }
+
+    PathProgram getProgram() {
+        return program;
     }
 
     @Override
@@ -43,14 +57,39 @@ public class CompiledPath implements Path {
 
     @Override
     public EvaluationContext evaluate(Object document, Object rootDocument, Configuration configuration, boolean forUpdate) {
+        return evaluate(document, new EvaluationContextImpl(this, rootDocument, configuration, forUpdate));
+    }
+
+    @Override
+    public EvaluationContext evaluate(Object document, Object rootDocument, Configuration configuration, int resultLimit, DocumentIndex.Reference documentIndex) {
+        return evaluate(document, new EvaluationContextImpl(this, rootDocument, configuration, false, resultLimit, documentIndex));
+    }
+
+    @Override
+    public int count(Object document, Object rootDocument, Configuration configuration, int resultLimit, DocumentIndex.Reference documentIndex) {
+        EvaluationContextImpl ctx = EvaluationContextImpl.counting(this, rootDocument, configuration, resultLimit, documentIndex);
+        evaluate(document, ctx);
+        return ctx.getResultCount();
+    }
+
+    @Override
+    public Iterator<Object> iterate(Object document, Object rootDocument, Configuration configuration, int resultLimit, DocumentIndex.Reference documentIndex) {
+        return new PathIterator(this, document, rootDocument, configuration, resultLimit, documentIndex);
+    }
+
+    private EvaluationContext evaluate(Object document, EvaluationContextImpl ctx) {
         if (logger.isDebugEnabled()) {
             logger.debug("Evaluating path: {}", toString());
         }
 
-        EvaluationContextImpl ctx = new EvaluationContextImpl(this, rootDocument, configuration, forUpdate);
+        Object rootDocument = ctx.rootDocument();
         try {
-            PathRef op = ctx.forUpdate() ?  PathRef.createRoot(rootDocument) : PathRef.NO_OP;
-            root.evaluate("", op, document, ctx);
+            if (ctx.options().contains(Option.ITERATIVE_EVALUATION)) {
+                new StackEvaluator(program, document, ctx).evaluate();
+            } else {
+                PathRef op = ctx.forUpdate() ?  PathRef.createRoot(rootDocument) : PathRef.NO_OP;
+                root.evaluate(null, op, document, ctx);
+            }
         } catch (EvaluationAbortException abort){};
 
         return ctx;
@@ -63,7 +102,7 @@ public class CompiledPath implements Path {
 
     @Override
     public boolean isDefinite() {
-        return root.isPathDefinite();
+        return program.isDefinite();
     }
 
     @Override
@@ -73,6 +112,16 @@ public class CompiledPath implements Path {
 
     @Override
     public String toString() {
-        return root.toString();
+        return program.toString();
+    }
+
+    @Override
+    public int hashCode() {
+        return program.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return this == obj || obj instanceof CompiledPath && program.equals(((CompiledPath) obj).program);
     }
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+
+/**
+ * Records, for every container of a document, which property names occur in it or anywhere beneath it, so a
+ * deep scan for a property can skip the subtrees that do not have it, see {@link Option#DEEP_SCAN_INDEX}.
+ * <p/>
+ * The property names of a subtree are kept as a 64 bit signature: every name sets two bits, selected by its
+ * hash code. A subtree that lacks one of the bits of a name does not contain that name. A subtree with many
+ * distinct names may have all the bits of a name it does not contain, it is then walked as without an index.
+ */
+public final class DocumentIndex {
+
+    private final JsonProvider jsonProvider;
+    private final IdentityHashMap<Object, Long> signatures = new IdentityHashMap<Object, Long>();
+
+    private DocumentIndex(JsonProvider jsonProvider) {
+        this.jsonProvider = jsonProvider;
+    }
+
+    /**
+     * Indexes all containers of a document.
+     */
+    public static DocumentIndex build(Object document, JsonProvider jsonProvider) {
+        DocumentIndex index = new DocumentIndex(jsonProvider);
+        index.signature(document);
+        return index;
+    }
+
+    private long signature(Object model) {
+        long signature = 0;
+        if (jsonProvider.isMap(model)) {
+            for (String property : jsonProvider.getPropertyKeys(model)) {
+                signature |= signature(property);
+                Object propertyModel = jsonProvider.getMapValue(model, property);
+                if (propertyModel != JsonProvider.UNDEFINED) {
+                    signature |= signature(propertyModel);
+                }
+            }
+        } else if (jsonProvider.isArray(model)) {
+            for (Object element : jsonProvider.toIterable(model)) {
+                signature |= signature(element);
+            }
+        } else {
+            return 0;
+        }
+        signatures.put(model, signature);
+        return signature;
+    }
+
+    private static long signature(String property) {
+        int hash = property.hashCode();
+        return (1L << (hash & 63)) | (1L << ((hash >>> 6) & 63));
+    }
+
+    /**
+     * @return false if none of the maps in the container, including the container itself, can have all the properties
+     */
+    boolean mayContain(Object container, Collection<String> properties) {
+        Long signature = signatures.get(container);
+        if (signature == null) {
+            // not part of the indexed document, e.g. the value of a function
+            return true;
+        }
+        long required = 0;
+        for (String property : properties) {
+            required |= signature(property);
+        }
+        return (signature & required) == required;
+    }
+
+    /**
+     * The index of a document that is built when it is first used. It is passed to the evaluations of the
+     * document, including the evaluations of the paths in its filters.
+     */
+    public static final class Reference {
+        private final Object document;
+        private final JsonProvider jsonProvider;
+        private volatile DocumentIndex index;
+
+        public Reference(Object document, JsonProvider jsonProvider) {
+            this.document = document;
+            this.jsonProvider = jsonProvider;
+        }
+
+        DocumentIndex get() {
+            DocumentIndex result = index;
+            if (result == null) {
+                synchronized (this) {
+                    result = index;
+                    if (result == null) {
+                        result = build(document, jsonProvider);
+                        index = result;
+                    }
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Discards the index after the document was modified, it is built again when it is next used.
+         */
+        public void invalidate() {
+            index = null;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.internal.EvaluationAbortException;
+import com.jayway.jsonpath.internal.path.PathTrie.Node;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+/**
+ * Applies the nodes of a {@link PathTrie} to a document built by the {@link JsonProvider}.
+ * <p/>
+ * Property, index, slice, wildcard and filter nodes are applied once for all paths sharing them. Their
+ * semantics, including the exceptions thrown for definite paths, are the same as evaluating the tokens one
+ * path at a time. Deep scans and functions are evaluated by the token of every path.
+ */
+class DocumentWalker {
+
+    private final BatchEvaluation evaluation;
+    private final JsonProvider jsonProvider;
+
+    DocumentWalker(BatchEvaluation evaluation) {
+        this.evaluation = evaluation;
+        this.jsonProvider = evaluation.configuration().jsonProvider();
+    }
+
+    /**
+     * Applies the token of the node to the model.
+     */
+    void apply(Node node, PathSegment currentPath, Object model) {
+        if (!node.isLive(evaluation)) {
+            return;
+        }
+        try {
+            switch (node.kind) {
+                case ROOT:
+                    continueWith(node, PathSegment.root(node.token.getPathFragment()), model);
+                    break;
+                case PROPERTY:
+                    applyProperty(node, currentPath, model);
+                    break;
+                case ARRAY:
+                    applyArray(node, currentPath, model);
+                    break;
+                case WILDCARD:
+                    applyWildcard(node, currentPath, model);
+                    break;
+                case PREDICATE:
+                    applyPredicate(node, currentPath, model);
+                    break;
+                default:
+                    evaluatePerPath(node, currentPath, model);
+            }
+        } catch (RuntimeException e) {
+            // e.g. the json provider failed, all paths passing through the node fail
+            fail(node, e);
+        }
+    }
+
+    /**
+     * Applies what follows the node to a value selected by it.
+     */
+    void continueWith(Node node, PathSegment currentPath, Object model) {
+        match(node, currentPath, model);
+        for (Node child : node.children) {
+            apply(child, currentPath, model);
+        }
+    }
+
+    /**
+     * Adds the model to the results of the paths ending at the node.
+     */
+    void match(Node node, PathSegment currentPath, Object model) {
+        if (!node.hasLeaf) {
+            return;
+        }
+        for (int i = 0; i < node.paths.length; i++) {
+            if (node.tokens[i].isLeaf() && !evaluation.isDone(node.paths[i])) {
+                evaluation.addResult(node.paths[i], currentPath, model);
+            }
+        }
+    }
+
+    /**
+     * Continues with an array element if it is accepted by the filter of the node.
+     */
+    void filterElement(Node node, PathSegment currentPath, Object model) {
+        if (node.isLive(evaluation) && accept(node, model)) {
+            continueWith(node, currentPath, model);
+        }
+    }
+
+    private void applyProperty(Node node, PathSegment currentPath, Object model) {
+        if (!jsonProvider.isMap(model)) {
+            // let the tokens decide if this is an error
+            evaluatePerPath(node, currentPath, model);
+            return;
+        }
+        for (String property : ((PropertyPathToken) node.token).getProperties()) {
+            Object propertyVal = jsonProvider.getMapValue(model, property);
+            if (propertyVal == JsonProvider.UNDEFINED) {
+                for (int i = 0; i < node.paths.length; i++) {
+                    if (!evaluation.isDone(node.paths[i])) {
+                        evaluation.missingProperty(node.paths[i], node.tokens[i], currentPath, property);
+                    }
+                }
+            } else {
+                continueWith(node, currentPath.property(property), propertyVal);
+            }
+        }
+    }
+
+    private void applyWildcard(Node node, PathSegment currentPath, Object model) {
+        if (jsonProvider.isMap(model)) {
+            for (String property : jsonProvider.getPropertyKeys(model)) {
+                continueWith(node, currentPath.property(property), jsonProvider.getMapValue(model, property));
+            }
+        } else if (jsonProvider.isArray(model)) {
+            for (int idx = 0; idx < jsonProvider.length(model); idx++) {
+                continueWithIndex(node, currentPath, model, idx);
+            }
+        }
+    }
+
+    private void applyArray(Node node, PathSegment currentPath, Object model) {
+        if (model == null || !jsonProvider.isArray(model)) {
+            evaluatePerPath(node, currentPath, model);
+            return;
+        }
+        ArrayPathToken arrayPathToken = (ArrayPathToken) node.token;
+        ArrayIndexOperation indexOperation = arrayPathToken.getArrayIndexOperation();
+        if (indexOperation != null) {
+            for (Integer index : indexOperation.indexes()) {
+                continueWithIndex(node, currentPath, model, index);
+            }
+            return;
+        }
+        ArraySliceOperation slice = arrayPathToken.getArraySliceOperation();
+        int length = jsonProvider.length(model);
+        int from;
+        int to;
+        switch (slice.operation()) {
+            case SLICE_FROM:
+                from = slice.from() < 0 ? Math.max(0, length + slice.from()) : slice.from();
+                to = length;
+                break;
+            case SLICE_TO:
+                from = 0;
+                to = Math.min(length, slice.to() < 0 ? length + slice.to() : slice.to());
+                break;
+            default:
+                from = slice.from();
+                to = Math.min(length, slice.to());
+        }
+        for (int idx = from; idx < to; idx++) {
+            continueWithIndex(node, currentPath, model, idx);
+        }
+    }
+
+    private void applyPredicate(Node node, PathSegment currentPath, Object model) {
+        if (jsonProvider.isMap(model)) {
+            if (accept(node, model)) {
+                continueWith(node, currentPath, model);
+            }
+        } else if (jsonProvider.isArray(model)) {
+            int idx = 0;
+            for (Object element : jsonProvider.toIterable(model)) {
+                if (accept(node, element)) {
+                    continueWithIndex(node, currentPath, model, idx);
+                }
+                idx++;
+            }
+        } else {
+            evaluatePerPath(node, currentPath, model);
+        }
+    }
+
+    private void continueWithIndex(Node node, PathSegment currentPath, Object model, int idx) {
+        Object element;
+        try {
+            element = jsonProvider.getArrayIndex(model, idx);
+        } catch (IndexOutOfBoundsException e) {
+            return;
+        }
+        continueWith(node, currentPath.index(idx), element);
+    }
+
+    /**
+     * Evaluates the filter once for all paths sharing the node, if it fails all of them fail.
+     */
+    private boolean accept(Node node, Object model) {
+        int path = firstLivePath(node);
+        EvaluationContextImpl ctx = evaluation.context(path);
+        try {
+            return ((PredicatePathToken) node.token).accept(model, ctx.rootDocument(), ctx.configuration(), ctx);
+        } catch (EvaluationAbortException abort) {
+            for (int p : node.paths) {
+                evaluation.finish(p);
+            }
+            return false;
+        } catch (RuntimeException e) {
+            fail(node, e);
+            return false;
+        }
+    }
+
+    private void fail(Node node, RuntimeException e) {
+        for (int path : node.paths) {
+            evaluation.fail(path, e);
+        }
+    }
+
+    private void evaluatePerPath(Node node, PathSegment currentPath, Object model) {
+        for (int i = 0; i < node.paths.length; i++) {
+            if (!evaluation.isDone(node.paths[i])) {
+                evaluation.evaluate(node.paths[i], node.tokens[i], currentPath, model);
+            }
+        }
+    }
+
+    private int firstLivePath(Node node) {
+        for (int path : node.paths) {
+            if (!evaluation.isDone(path)) {
+                return path;
+            }
+        }
+        return node.paths[0];
+    }
+}
@@ -40,16 +40,54 @@ public class EvaluationContextImpl implements EvaluationContext {
 
     private final Configuration configuration;
     private final Object valueResult;
-    private final Object pathResult;
+    private final List<PathSegment> pathResult;
     private final Path path;
     private final Object rootDocument;
     private final List<PathRef> updateOperations;
-    private final HashMap<Path, Object> documentEvalCache = new HashMap<Path, Object>();
+    private final HashMap<Path, Object> documentEvalCache;
     private final boolean forUpdate;
+    private final DocumentIndex.Reference documentIndex;
+    private final int resultLimit;
     private int resultIndex = 0;
 
 
     public EvaluationContextImpl(Path path, Object rootDocument, Configuration configuration, boolean forUpdate) {
+        this(path, rootDocument, configuration, forUpdate, Integer.MAX_VALUE, null);
+    }
+
+    /**
+     * @param resultLimit the number of results after which the evaluation stops
+     * @param documentIndex the index of the root document used by deep scans, or null
+     */
+    public EvaluationContextImpl(Path path, Object rootDocument, Configuration configuration, boolean forUpdate, int resultLimit,
+                                 DocumentIndex.Reference documentIndex) {
+        this(path, rootDocument, configuration, forUpdate, new HashMap<Path, Object>(), documentIndex, resultLimit, true);
+    }
+
+    /**
+     * Creates a context that only counts results, without collecting their values and paths. Asking it for
+     * the values or paths of the results throws an {@link IllegalStateException}.
+     *
+     * @param resultLimit the number of results after which the evaluation stops
+     * @param documentIndex the index of the root document used by deep scans, or null
+     * @see #getResultCount()
+     */
+    static EvaluationContextImpl counting(Path path, Object rootDocument, Configuration configuration, int resultLimit,
+                                          DocumentIndex.Reference documentIndex) {
+        return new EvaluationContextImpl(path, rootDocument, configuration, false, new HashMap<Path, Object>(), documentIndex, resultLimit, false);
+    }
+
+    /**
+     * Creates a context for the same evaluation as the given one, sharing its root path cache, to collect
+     * the results of a part of the document separately. It does not collect results itself.
+     */
+    EvaluationContextImpl(EvaluationContextImpl ctx) {
+        this(ctx.path, ctx.rootDocument, ctx.configuration, ctx.forUpdate, ctx.documentEvalCache, ctx.documentIndex, ctx.resultLimit, false);
+    }
+
+    private EvaluationContextImpl(Path path, Object rootDocument, Configuration configuration, boolean forUpdate,
+                                  HashMap<Path, Object> documentEvalCache, DocumentIndex.Reference documentIndex, int resultLimit,
+                                  boolean collectResults) {
         notNull(path, "path can not be null");
         notNull(rootDocument, "root can not be null");
         notNull(configuration, "configuration can not be null");
@@ -57,8 +95,11 @@ public class EvaluationContextImpl implements EvaluationContext {
         this.path = path;
         this.rootDocument = rootDocument;
         this.configuration = configuration;
-        this.valueResult = configuration.jsonProvider().createArray();
-        this.pathResult = configuration.jsonProvider().createArray();
+        this.documentEvalCache = documentEvalCache;
+        this.documentIndex = documentIndex;
+        this.resultLimit = resultLimit;
+        this.valueResult = collectResults ? configuration.jsonProvider().createArray() : null;
+        this.pathResult = collectResults ? new ArrayList<PathSegment>() : null;
         this.updateOperations = new ArrayList<PathRef>();
     }
 
@@ -66,18 +107,63 @@ public class EvaluationContextImpl implements EvaluationContext {
         return documentEvalCache;
     }
 
+    /**
+     * @return the index of the document, built on first use, or null if the document is not indexed
+     */
+    DocumentIndex documentIndex() {
+        return documentIndex == null ? null : documentIndex.get();
+    }
+
+    /**
+     * @return the reference to the index of the document, passed on to the paths evaluated by filters
+     */
+    DocumentIndex.Reference documentIndexReference() {
+        return documentIndex;
+    }
+
+    /**
+     * @return true when no more results are accepted, path tokens then stop iterating
+     */
+    boolean isLimitReached() {
+        return resultIndex >= resultLimit;
+    }
+
+    /**
+     * @return the number of results that are still accepted
+     */
+    int remainingResults() {
+        return resultLimit - resultIndex;
+    }
+
+    /**
+     * @return true if the evaluation stops after a number of results
+     */
+    boolean hasResultLimit() {
+        return resultLimit != Integer.MAX_VALUE;
+    }
+
+    @Override
+    public int getResultCount() {
+        return resultIndex;
+    }
+
     public boolean forUpdate(){
         return forUpdate;
     }
 
-    public void addResult(String path, PathRef operation, Object model) {
+    public void addResult(PathSegment path, PathRef operation, Object model) {
+        if (isLimitReached()) {
+            return;
+        }
 
         if(forUpdate) {
             updateOperations.add(operation);
         }
 
-        configuration.jsonProvider().setArrayIndex(valueResult, resultIndex, model);
-        configuration.jsonProvider().setArrayIndex(pathResult, resultIndex, path);
+        if (valueResult != null) {
+            configuration.jsonProvider().setArrayIndex(valueResult, resultIndex, model);
+            pathResult.add(path);
+        }
         resultIndex++;
         if(!configuration().getEvaluationListeners().isEmpty()){
             int idx = resultIndex - 1;
@@ -126,6 +212,7 @@ public class EvaluationContextImpl implements EvaluationContext {
     @SuppressWarnings("unchecked")
     @Override
     public <T> T getValue(boolean unwrap) {
+        checkResultsCollected();
         if (path.isDefinite()) {
             if(resultIndex == 0){
                 throw new PathNotFoundException("No results for path: " + path.toString());
@@ -142,31 +229,40 @@ public class EvaluationContextImpl implements EvaluationContext {
     @SuppressWarnings("unchecked")
     @Override
     public <T> T getPath() {
+        checkResultsCollected();
         if(resultIndex == 0){
             throw new PathNotFoundException("No results for path: " + path.toString());
         }
-        return (T)pathResult;
+        Object paths = jsonProvider().createArray();
+        for (int i = 0; i < resultIndex; i++) {
+            jsonProvider().setArrayIndex(paths, i, pathResult.get(i).toString());
+        }
+        return (T)paths;
     }
 
     @Override
     public List<String> getPathList() {
-        List<String> res = new ArrayList<String>();
-        if(resultIndex > 0){
-            Iterable<?> objects = configuration.jsonProvider().toIterable(pathResult);
-            for (Object o : objects) {
-                res.add((String)o);
-            }
+        checkResultsCollected();
+        List<String> res = new ArrayList<String>(resultIndex);
+        for (PathSegment path : pathResult) {
+            res.add(path.toString());
         }
         return res;
     }
 
+    private void checkResultsCollected() {
+        if (valueResult == null) {
+            throw new IllegalStateException("The results of path " + path.toString() + " are counted, not collected");
+        }
+    }
+
     private class FoundResultImpl implements EvaluationListener.FoundResult {
 
         private final int index;
-        private final String path;
+        private final PathSegment path;
         private final Object result;
 
-        private FoundResultImpl(int index, String path, Object result) {
+        private FoundResultImpl(int index, PathSegment path, Object result) {
             this.index = index;
             this.path = path;
             this.result = result;
@@ -179,7 +275,7 @@ public class EvaluationContextImpl implements EvaluationContext {
 
         @Override
         public String path() {
-            return path;
+            return path.toString();
         }
 
         @Override
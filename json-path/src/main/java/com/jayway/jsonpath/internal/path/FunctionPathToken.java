@@ -26,9 +26,9 @@ public class FunctionPathToken extends PathToken {
     }
 
     @Override
-    public void evaluate(String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+    public void evaluate(PathSegment currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
         PathFunction pathFunction = PathFunctionFactory.newFunction(functionName);
-        Object result = pathFunction.invoke(currentPath, parent, model, ctx);
+        Object result = pathFunction.invoke(currentPath.toString(), parent, model, ctx);
         ctx.addResult(currentPath, parent, result);
     }
 
@@ -0,0 +1,427 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.path;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.jayway.jsonpath.InvalidJsonException;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.internal.EvaluationAbortException;
+import com.jayway.jsonpath.internal.path.PathTrie.ElementFilter;
+import com.jayway.jsonpath.internal.path.PathTrie.Match;
+import com.jayway.jsonpath.internal.path.PathTrie.Node;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Drives the nodes of a {@link PathTrie} from a Jackson {@link JsonParser}.
+ * <p/>
+ * Every value in the stream is visited with the list of states that apply to it. A state is either
+ * a {@link Node} that still has to be applied to the value, a {@link Match} if the value is a result, or an
+ * {@link ElementFilter} if the value is an array element that has to pass a filter.
+ * <p/>
+ * Property, index, slice, wildcard and deep scan nodes are resolved while reading. Values matching a
+ * path, and values a state can not be resolved for without looking at the whole value (filters, functions,
+ * negative slices...), are materialized using the configured {@link JsonProvider} and handed to a
+ * {@link DocumentWalker}. Values without states are skipped.
+ */
+class JsonStreamWalker {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory().disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+    private static final String VALUE_PROPERTY = "value";
+
+    private final BatchEvaluation evaluation;
+    private final DocumentWalker documentWalker;
+    private final JsonProvider jsonProvider;
+    private final boolean suppressExceptions;
+    private JsonParser parser;
+
+    JsonStreamWalker(BatchEvaluation evaluation) {
+        this.evaluation = evaluation;
+        this.documentWalker = new DocumentWalker(evaluation);
+        this.jsonProvider = evaluation.configuration().jsonProvider();
+        this.suppressExceptions = evaluation.configuration().containsOption(Option.SUPPRESS_EXCEPTIONS);
+    }
+
+    void walk(Node root, InputStream jsonStream, String charset) {
+        try {
+            parser = JSON_FACTORY.createParser(new InputStreamReader(jsonStream, charset));
+            try {
+                if (parser.nextToken() == null) {
+                    throw new InvalidJsonException("Json input stream is empty");
+                }
+                List<Object> states = new ArrayList<Object>(root.continuations.length);
+                Collections.addAll(states, root.continuations);
+                walkValue(PathSegment.root(root.token.getPathFragment()), states);
+            } finally {
+                parser.close();
+            }
+        } catch (IOException e) {
+            throw new InvalidJsonException(e);
+        }
+    }
+
+    /**
+     * Visits the value the parser is positioned at. When this method returns the parser is positioned
+     * at the last token of the value.
+     */
+    private void walkValue(PathSegment currentPath, List<Object> states) throws IOException {
+        JsonToken token = parser.getCurrentToken();
+
+        for (Object state : states) {
+            if (!isResolvedWhileReading(state, token)) {
+                evaluateMaterialized(currentPath, states, readValue());
+                return;
+            }
+        }
+        if (token == JsonToken.START_OBJECT) {
+            walkObject(currentPath, states);
+        } else if (token == JsonToken.START_ARRAY) {
+            walkArray(currentPath, states);
+        }
+    }
+
+    private void walkObject(PathSegment currentPath, List<Object> states) throws IOException {
+        List<Node> requiring = requiringNodes(states);
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String property = parser.getCurrentName();
+            parser.nextToken();
+
+            List<Object> propertyStates = null;
+            for (Object state : states) {
+                if (isLive(state)) {
+                    propertyStates = propertyTransition((Node) state, property, propertyStates);
+                }
+            }
+            if (requiring != null) {
+                for (int i = requiring.size() - 1; i >= 0; i--) {
+                    if (requiredProperty(requiring.get(i)).equals(property)) {
+                        requiring.remove(i);
+                    }
+                }
+            }
+            if (propertyStates == null) {
+                parser.skipChildren();
+            } else {
+                walkValue(currentPath.property(property), propertyStates);
+            }
+        }
+        if (requiring != null) {
+            for (Node node : requiring) {
+                missingProperty(node, currentPath, requiredProperty(node));
+            }
+        }
+    }
+
+    private static String requiredProperty(Node node) {
+        return ((PropertyPathToken) node.token).getProperties().get(0);
+    }
+
+    private void walkArray(PathSegment currentPath, List<Object> states) throws IOException {
+        int idx = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            List<Object> elementStates = null;
+            for (Object state : states) {
+                if (isLive(state)) {
+                    elementStates = indexTransition((Node) state, idx, elementStates);
+                }
+            }
+            if (elementStates == null) {
+                parser.skipChildren();
+            } else {
+                walkValue(currentPath.index(idx), elementStates);
+            }
+            idx++;
+        }
+    }
+
+    private void evaluateMaterialized(PathSegment currentPath, List<Object> states, Object model) {
+        for (Object state : states) {
+            if (state instanceof Match) {
+                documentWalker.match(((Match) state).node, currentPath, model);
+                finishDefinite(((Match) state).node, true);
+            } else if (state instanceof ElementFilter) {
+                documentWalker.filterElement(((ElementFilter) state).node, currentPath, model);
+            } else {
+                documentWalker.apply((Node) state, currentPath, model);
+                finishDefinite((Node) state, false);
+            }
+        }
+        if (evaluation.isFinished()) {
+            throw new EvaluationAbortException();
+        }
+    }
+
+    /**
+     * A definite path has a single branch, it's done once its value has been evaluated.
+     */
+    private void finishDefinite(Node node, boolean leavesOnly) {
+        for (int i = 0; i < node.paths.length; i++) {
+            if ((!leavesOnly || node.tokens[i].isLeaf()) && evaluation.isDefinite(node.paths[i])) {
+                evaluation.finish(node.paths[i]);
+            }
+        }
+    }
+
+    private void missingProperty(Node node, PathSegment currentPath, String property) {
+        for (int i = 0; i < node.paths.length; i++) {
+            if (!node.tokens[i].isLeaf() && !evaluation.isDone(node.paths[i])) {
+                evaluation.missingProperty(node.paths[i], node.tokens[i], currentPath, property);
+            }
+        }
+        if (evaluation.isFinished()) {
+            throw new EvaluationAbortException();
+        }
+    }
+
+    private boolean isLive(Object state) {
+        if (state instanceof Match) {
+            return ((Match) state).node.isLive(evaluation);
+        } else if (state instanceof ElementFilter) {
+            return ((ElementFilter) state).node.isLive(evaluation);
+        }
+        return ((Node) state).isLive(evaluation);
+    }
+
+    /**
+     * @return true if the state can be applied to the value without materializing it
+     */
+    private static boolean isResolvedWhileReading(Object state, JsonToken token) {
+        if (!(state instanceof Node)) {
+            return false;
+        }
+        Node node = (Node) state;
+        switch (node.kind) {
+            case PROPERTY:
+                // a definite path has to fail on anything but an object, let the token produce the error
+                return token == JsonToken.START_OBJECT || !node.token.isUpstreamDefinite();
+            case ARRAY:
+                if (token != JsonToken.START_ARRAY) {
+                    return !node.token.isUpstreamDefinite();
+                }
+                return isBounded((ArrayPathToken) node.token);
+            case PREDICATE:
+                if (token == JsonToken.START_OBJECT) {
+                    return false;
+                }
+                return token == JsonToken.START_ARRAY || !node.token.isUpstreamDefinite();
+            case WILDCARD:
+                return true;
+            case SCAN:
+                if (!token.isStructStart()) {
+                    return true;
+                }
+                for (Node target : node.children) {
+                    if (target.kind != Node.Kind.PROPERTY && target.kind != Node.Kind.WILDCARD) {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @return true if the indexes selected by the token are known without knowing the length of the array
+     */
+    private static boolean isBounded(ArrayPathToken arrayPathToken) {
+        ArraySliceOperation slice = arrayPathToken.getArraySliceOperation();
+        if (slice == null) {
+            return true;
+        }
+        switch (slice.operation()) {
+            case SLICE_FROM:
+                return slice.from() >= 0;
+            case SLICE_TO:
+                return slice.to() >= 0;
+            default:
+                return slice.from() >= 0 && slice.to() >= 0;
+        }
+    }
+
+    private static List<Object> propertyTransition(Node node, String property, List<Object> states) {
+        switch (node.kind) {
+            case PROPERTY:
+                for (String p : ((PropertyPathToken) node.token).getProperties()) {
+                    if (p.equals(property)) {
+                        states = add(states, node.continuations);
+                    }
+                }
+                break;
+            case WILDCARD:
+                states = add(states, node.continuations);
+                break;
+            case SCAN:
+                for (Node target : node.children) {
+                    states = propertyTransition(target, property, states);
+                }
+                states = add(states, node);
+                break;
+        }
+        return states;
+    }
+
+    private static List<Object> indexTransition(Node node, int idx, List<Object> states) {
+        switch (node.kind) {
+            case ARRAY:
+                ArrayPathToken arrayPathToken = (ArrayPathToken) node.token;
+                if (arrayPathToken.getArrayIndexOperation() != null) {
+                    for (Integer index : arrayPathToken.getArrayIndexOperation().indexes()) {
+                        if (index == idx) {
+                            states = add(states, node.continuations);
+                        }
+                    }
+                } else if (inSlice(arrayPathToken.getArraySliceOperation(), idx)) {
+                    states = add(states, node.continuations);
+                }
+                break;
+            case PREDICATE:
+                states = add(states, node.elementFilter);
+                break;
+            case WILDCARD:
+                states = add(states, node.continuations);
+                break;
+            case SCAN:
+                for (Node target : node.children) {
+                    states = indexTransition(target, idx, states);
+                }
+                states = add(states, node);
+                break;
+        }
+        return states;
+    }
+
+    private static boolean inSlice(ArraySliceOperation slice, int idx) {
+        switch (slice.operation()) {
+            case SLICE_FROM:
+                return idx >= slice.from();
+            case SLICE_TO:
+                return idx < slice.to();
+            default:
+                return idx >= slice.from() && idx < slice.to();
+        }
+    }
+
+    private static List<Object> add(List<Object> states, Object... continuations) {
+        if (states == null) {
+            states = new ArrayList<Object>(continuations.length + 1);
+        }
+        Collections.addAll(states, continuations);
+        return states;
+    }
+
+    /**
+     * Collects the nodes of definite paths that require their property to be present in the current object.
+     */
+    private List<Node> requiringNodes(List<Object> states) {
+        if (suppressExceptions) {
+            return null;
+        }
+        List<Node> requiring = null;
+        for (Object state : states) {
+            if (state instanceof Node && ((Node) state).kind == Node.Kind.PROPERTY) {
+                Node node = (Node) state;
+                if (((PropertyPathToken) node.token).singlePropertyCase() && node.token.isUpstreamDefinite() && node.children.length > 0) {
+                    if (requiring == null) {
+                        requiring = new ArrayList<Node>(1);
+                    }
+                    requiring.add(node);
+                }
+            }
+        }
+        return requiring;
+    }
+
+    /**
+     * Reads the current value. It is parsed by the json provider, within a container like the one it is read
+     * from, so it is the value the provider gives when the whole document is parsed, e.g. for numbers and null.
+     */
+    private Object readValue() throws IOException {
+        JsonStreamContext context = parser.getParsingContext();
+        if (parser.getCurrentToken().isStructStart()) {
+            context = context.getParent();
+        }
+        StringWriter json = new StringWriter();
+        JsonGenerator generator = JSON_FACTORY.createGenerator(json);
+        if (context.inArray()) {
+            generator.writeStartArray();
+            copyValue(generator);
+            generator.writeEndArray();
+        } else if (context.inObject()) {
+            generator.writeStartObject();
+            generator.writeFieldName(VALUE_PROPERTY);
+            copyValue(generator);
+            generator.writeEndObject();
+        } else {
+            copyValue(generator);
+        }
+        generator.close();
+
+        Object parsed = jsonProvider.parse(json.toString());
+        if (context.inArray()) {
+            return jsonProvider.getArrayIndex(parsed, 0);
+        } else if (context.inObject()) {
+            return jsonProvider.getMapValue(parsed, VALUE_PROPERTY);
+        }
+        return parsed;
+    }
+
+    private void copyValue(JsonGenerator generator) throws IOException {
+        switch (parser.getCurrentToken()) {
+            case START_OBJECT:
+                generator.writeStartObject();
+                while (parser.nextToken() != JsonToken.END_OBJECT) {
+                    generator.writeFieldName(parser.getCurrentName());
+                    parser.nextToken();
+                    copyValue(generator);
+                }
+                generator.writeEndObject();
+                break;
+            case START_ARRAY:
+                generator.writeStartArray();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    copyValue(generator);
+                }
+                generator.writeEndArray();
+                break;
+            case VALUE_NUMBER_INT:
+            case VALUE_NUMBER_FLOAT:
+                // as written, the provider decides on the type
+                generator.writeNumber(parser.getText());
+                break;
+            case VALUE_STRING:
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+            case VALUE_NULL:
+                generator.copyCurrentEvent(parser);
+                break;
+            default:
+                throw new InvalidJsonException("Unexpected token " + parser.getCurrentToken() + " at " + parser.getCurrentLocation());
+        }
+    }
+}
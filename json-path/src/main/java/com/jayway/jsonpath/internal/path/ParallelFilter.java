@@ -0,0 +1,75 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.Option;
+
+import java.util.List;
+
+/**
+ * Applies the predicates of a filter to the elements of a large array on the {@link WorkerPool},
+ * see {@link Option#PARALLEL_FILTER}.
+ * <p/>
+ * The array is split into ranges of indexes that are evaluated concurrently, one of them by the calling thread.
+ * Only the predicates run concurrently: the accepted elements are handed to the rest of the path by the calling
+ * thread in index order, so results come out as they would sequentially. Filters evaluated from within a pool
+ * thread, e.g. by a nested filter, are evaluated sequentially.
+ */
+final class ParallelFilter {
+
+    /**
+     * Arrays with fewer elements are filtered sequentially.
+     */
+    static final int THRESHOLD = 1024;
+
+    // ranges per thread, so threads finishing early can take over the work of slower ones
+    private static final int RANGES_PER_THREAD = 4;
+
+    private static final int MIN_RANGE_SIZE = 256;
+
+    private ParallelFilter() {
+    }
+
+    static boolean isApplicable(int size, EvaluationContextImpl ctx) {
+        return size >= THRESHOLD
+                && WorkerPool.PARALLELISM > 1
+                && ctx.options().contains(Option.PARALLEL_FILTER)
+                // listeners are not required to be thread safe
+                && ctx.configuration().getEvaluationListeners().isEmpty()
+                // a limited evaluation stops at the first accepted elements instead of filtering them all
+                && !ctx.hasResultLimit()
+                && !WorkerPool.isWorkerThread();
+    }
+
+    /**
+     * @return for every element whether it is accepted by the filter
+     */
+    static boolean[] accept(final PredicatePathToken token, final List<?> elements, final EvaluationContextImpl ctx) {
+        final boolean[] accepted = new boolean[elements.size()];
+        int ranges = Math.min(WorkerPool.PARALLELISM * RANGES_PER_THREAD, (elements.size() + MIN_RANGE_SIZE - 1) / MIN_RANGE_SIZE);
+        final int rangeSize = (elements.size() + ranges - 1) / ranges;
+
+        WorkerPool.invokeAll(ranges, new WorkerPool.Task() {
+            @Override
+            public void run(int range) {
+                int end = Math.min(elements.size(), (range + 1) * rangeSize);
+                for (int idx = range * rangeSize; idx < end; idx++) {
+                    accepted[idx] = token.accept(elements.get(idx), ctx.rootDocument(), ctx.configuration(), ctx);
+                }
+            }
+        });
+        return accepted;
+    }
+}
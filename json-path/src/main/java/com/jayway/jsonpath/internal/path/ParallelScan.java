@@ -0,0 +1,220 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.JsonPathException;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.internal.PathRef;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Walks a document for a deep scan on the {@link WorkerPool}, see {@link Option#PARALLEL_SCAN}.
+ * <p/>
+ * The top of the document is split, level by level, into the containers visited by the scan and the subtrees
+ * below them, until there are enough subtrees to keep the pool busy. Each part is evaluated into a buffer of
+ * its own, the buffers are then added to the results by the calling thread in document order. Results, their
+ * paths, {@link com.jayway.jsonpath.EvaluationListener}s and exceptions are seen as with a sequential scan,
+ * an {@link com.jayway.jsonpath.EvaluationListener.EvaluationContinuation#ABORT} only stops the evaluation
+ * once the buffers are merged. Parts that follow a failure, or the parts completing the result limit, are
+ * stopped as soon as all of the parts before them are completed.
+ * <p/>
+ * Documents that do not have enough subtrees within the first levels are scanned sequentially.
+ */
+final class ParallelScan {
+
+    // parts per thread, so threads finishing early can take over the work of slower ones
+    private static final int PARTS_PER_THREAD = 4;
+
+    private static final int MAX_SPLIT_DEPTH = 8;
+
+    private ParallelScan() {
+    }
+
+    static boolean isApplicable(PathToken pt, EvaluationContextImpl ctx) {
+        return WorkerPool.PARALLELISM > 1
+                && ctx.options().contains(Option.PARALLEL_SCAN)
+                && !WorkerPool.isWorkerThread()
+                // filters notify listeners of the paths they evaluate, listeners are not required to be thread safe
+                && (ctx.configuration().getEvaluationListeners().isEmpty() || !hasFilter(pt));
+    }
+
+    private static boolean hasFilter(PathToken pt) {
+        for (PathToken token = pt; ; token = token.next()) {
+            if (token instanceof PredicatePathToken) {
+                return true;
+            } else if (token.isLeaf()) {
+                return false;
+            }
+        }
+    }
+
+    static void walk(final PathToken pt, PathSegment currentPath, PathRef parent, Object model, final EvaluationContextImpl ctx, final ScanPathToken.Predicate predicate) {
+        final List<Part> parts = split(new Part(currentPath, parent, model, true), ctx);
+        if (parts == null) {
+            ScanPathToken.walk(pt, currentPath, parent, model, ctx, predicate);
+            return;
+        }
+
+        final Progress progress = new Progress(parts, ctx.remainingResults());
+        WorkerPool.invokeAll(parts.size(), new WorkerPool.Task() {
+            @Override
+            public void run(final int index) {
+                Part part = parts.get(index);
+                part.results = new ResultBuffer(ctx) {
+                    @Override
+                    boolean isLimitReached() {
+                        return super.isLimitReached() || progress.isStopped(index);
+                    }
+                };
+                try {
+                    if (part.results.isLimitReached()) {
+                        return;
+                    } else if (part.subtree) {
+                        ScanPathToken.walk(pt, part.path, part.parent, part.model, part.results, predicate);
+                    } else {
+                        ScanPathToken.visit(pt, part.path, part.parent, part.model, part.results, predicate);
+                    }
+                } catch (Throwable t) {
+                    // thrown when the results before it have been merged, as it would have been sequentially
+                    part.failure = t;
+                } finally {
+                    progress.completed(index);
+                }
+            }
+        });
+
+        for (Part part : parts) {
+            if (ctx.isLimitReached()) {
+                return;
+            }
+            part.results.mergeInto(ctx);
+            if (part.failure instanceof RuntimeException) {
+                throw (RuntimeException) part.failure;
+            } else if (part.failure instanceof Error) {
+                throw (Error) part.failure;
+            } else if (part.failure != null) {
+                throw new JsonPathException(part.failure);
+            }
+        }
+    }
+
+    /**
+     * @return the parts of the document in the order they are scanned, or null if it is too small to split
+     */
+    private static List<Part> split(Part root, EvaluationContextImpl ctx) {
+        JsonProvider jsonProvider = ctx.jsonProvider();
+        int target = WorkerPool.PARALLELISM * PARTS_PER_THREAD;
+
+        List<Part> parts = new ArrayList<Part>();
+        parts.add(root);
+        for (int depth = 0; depth < MAX_SPLIT_DEPTH; depth++) {
+            List<Part> split = new ArrayList<Part>();
+            int subtrees = 0;
+            for (Part part : parts) {
+                if (!part.subtree) {
+                    split.add(part);
+                    continue;
+                }
+                split.add(new Part(part.path, part.parent, part.model, false));
+                if (jsonProvider.isMap(part.model)) {
+                    for (String property : jsonProvider.getPropertyKeys(part.model)) {
+                        Object propertyModel = jsonProvider.getMapValue(part.model, property);
+                        if (isContainer(propertyModel, jsonProvider)) {
+                            split.add(new Part(part.path.property(property), PathRef.create(part.model, property), propertyModel, true));
+                            subtrees++;
+                        }
+                    }
+                } else if (jsonProvider.isArray(part.model)) {
+                    int idx = 0;
+                    for (Object evalModel : jsonProvider.toIterable(part.model)) {
+                        if (isContainer(evalModel, jsonProvider)) {
+                            split.add(new Part(part.path.index(idx), PathRef.create(part.model, idx), evalModel, true));
+                            subtrees++;
+                        }
+                        idx++;
+                    }
+                }
+            }
+            parts = split;
+            if (subtrees >= target) {
+                return parts;
+            } else if (subtrees == 0) {
+                // all of the document is in the parts, each of them is cheap
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isContainer(Object model, JsonProvider jsonProvider) {
+        // the walk ignores anything else, including undefined properties
+        return model != JsonProvider.UNDEFINED && (jsonProvider.isMap(model) || jsonProvider.isArray(model));
+    }
+
+    /**
+     * Follows the parts completed in document order, to stop the parts whose results would not be merged.
+     */
+    private static final class Progress {
+        private final List<Part> parts;
+        private final int limit;
+        private final boolean[] completed;
+        private int merged;
+        private int results;
+        private volatile int stoppedFrom = Integer.MAX_VALUE;
+
+        private Progress(List<Part> parts, int limit) {
+            this.parts = parts;
+            this.limit = limit;
+            this.completed = new boolean[parts.size()];
+        }
+
+        private boolean isStopped(int index) {
+            return index >= stoppedFrom;
+        }
+
+        private synchronized void completed(int index) {
+            completed[index] = true;
+            while (stoppedFrom == Integer.MAX_VALUE && merged < parts.size() && completed[merged]) {
+                Part part = parts.get(merged++);
+                results += part.results.size();
+                if (results >= limit || part.failure != null) {
+                    stoppedFrom = merged;
+                }
+            }
+        }
+    }
+
+    /**
+     * A container that is only visited, or a subtree that is walked.
+     */
+    private static final class Part {
+        private final PathSegment path;
+        private final PathRef parent;
+        private final Object model;
+        private final boolean subtree;
+        private ResultBuffer results;
+        private Throwable failure;
+
+        private Part(PathSegment path, PathRef parent, Object model, boolean subtree) {
+            this.path = path;
+            this.parent = parent;
+            this.model = model;
+            this.subtree = subtree;
+        }
+    }
+}
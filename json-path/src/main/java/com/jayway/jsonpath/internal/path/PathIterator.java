@@ -0,0 +1,98 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.PathNotFoundException;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Evaluates a path lazily, finding the next result when it is asked for.
+ * <p/>
+ * The path is evaluated by a {@link StackEvaluator}, which keeps a stack of the containers it is iterating, so
+ * a deep document does not need a deep call stack. Results come in the order, and with the options and
+ * listeners, of a complete evaluation. Exceptions are thrown when the evaluation reaches them, after the results
+ * found before; with {@link Option#SUPPRESS_EXCEPTIONS} the iteration ends instead. A definite path without a
+ * result fails as it does when it is read, other paths without results are an empty iteration.
+ */
+final class PathIterator implements Iterator<Object> {
+
+    private final CompiledPath path;
+    private final EvaluationContextImpl ctx;
+    private final StackEvaluator evaluator;
+    private final JsonProvider jsonProvider;
+    private final boolean asPathList;
+    private final boolean unwrap;
+
+    private boolean hasResult;
+    private Object result;
+    private boolean done;
+
+    PathIterator(CompiledPath path, Object document, Object rootDocument, Configuration configuration, int resultLimit,
+                 DocumentIndex.Reference documentIndex) {
+        this.path = path;
+        this.ctx = EvaluationContextImpl.counting(path, rootDocument, configuration, resultLimit, documentIndex);
+        this.evaluator = new StackEvaluator(path.getProgram(), document, ctx);
+        this.jsonProvider = configuration.jsonProvider();
+        this.asPathList = configuration.containsOption(Option.AS_PATH_LIST);
+        this.unwrap = path.isFunctionPath();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (hasResult || done) {
+            return hasResult;
+        }
+        try {
+            hasResult = evaluator.next();
+        } catch (RuntimeException e) {
+            done = true;
+            if (!ctx.options().contains(Option.SUPPRESS_EXCEPTIONS)) {
+                throw e;
+            }
+            return false;
+        }
+        if (hasResult) {
+            Object model = evaluator.resultModel();
+            result = asPathList ? evaluator.resultPath().toString() : (unwrap && model != null ? jsonProvider.unwrap(model) : model);
+        } else {
+            done = true;
+            if (path.isDefinite() && ctx.getResultCount() == 0 && !ctx.options().contains(Option.SUPPRESS_EXCEPTIONS)) {
+                throw new PathNotFoundException("No results for path: " + path);
+            }
+        }
+        return hasResult;
+    }
+
+    @Override
+    public Object next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Object next = result;
+        result = null;
+        hasResult = false;
+        return next;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+}
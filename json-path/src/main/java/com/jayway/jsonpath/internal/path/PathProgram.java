@@ -0,0 +1,204 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.Predicate;
+
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * The tokens of a compiled path as a flat array of instructions, see {@link StackEvaluator}. An instruction is
+ * followed by the next one in the array, the last instruction is the leaf of the path. An instruction that
+ * does not apply to its model, e.g. a property of an array, is evaluated by its token.
+ * <p/>
+ * A program is immutable, its definiteness, string and hash code are computed when it is compiled. Two
+ * programs are equal if they have the same string and their filters have equal predicates.
+ */
+final class PathProgram {
+
+    enum Opcode {
+        /**
+         * Operand: the {@link PathSegment} of the root
+         */
+        ROOT,
+        /**
+         * One or more properties, each continuing the path on its own. Operand: the list of property names
+         */
+        PROPERTY,
+        /**
+         * Operand: the {@link ArrayIndexOperation}
+         */
+        INDEX,
+        /**
+         * Operand: the {@link ArraySliceOperation}
+         */
+        SLICE,
+        WILDCARD,
+        /**
+         * Operand: the {@link PredicatePathToken}
+         */
+        FILTER,
+        /**
+         * A deep scan for the token of the next instruction
+         */
+        SCAN,
+        /**
+         * Evaluated by the token, e.g. merged properties or a function
+         */
+        TOKEN
+    }
+
+    private final Opcode[] opcodes;
+    private final Object[] operands;
+    private final PathToken[] tokens;
+    private final boolean definite;
+    private final String string;
+    private final int hash;
+
+    private PathProgram(Opcode[] opcodes, Object[] operands, PathToken[] tokens, boolean definite, String string) {
+        this.opcodes = opcodes;
+        this.operands = operands;
+        this.tokens = tokens;
+        this.definite = definite;
+        this.string = string;
+        this.hash = string.hashCode();
+    }
+
+    static PathProgram compile(RootPathToken root) {
+        int length = root.getTokenCount();
+        Opcode[] opcodes = new Opcode[length];
+        Object[] operands = new Object[length];
+        PathToken[] tokens = new PathToken[length];
+        boolean definite = true;
+        StringBuilder string = new StringBuilder();
+        PathToken token = root;
+        for (int pc = 0; pc < length; pc++) {
+            opcodes[pc] = opcodeOf(token);
+            operands[pc] = operandOf(opcodes[pc], token);
+            tokens[pc] = token;
+            definite &= token.isTokenDefinite();
+            string.append(token.getPathFragment());
+            if (!token.isLeaf()) {
+                token = token.next();
+            }
+        }
+        return new PathProgram(opcodes, operands, tokens, definite, string.toString());
+    }
+
+    private static Opcode opcodeOf(PathToken token) {
+        if (token instanceof RootPathToken) {
+            return Opcode.ROOT;
+        } else if (token instanceof PropertyPathToken) {
+            return ((PropertyPathToken) token).multiPropertyMergeCase() ? Opcode.TOKEN : Opcode.PROPERTY;
+        } else if (token instanceof ArrayPathToken) {
+            return ((ArrayPathToken) token).getArrayIndexOperation() != null ? Opcode.INDEX : Opcode.SLICE;
+        } else if (token instanceof WildcardPathToken) {
+            return Opcode.WILDCARD;
+        } else if (token instanceof PredicatePathToken) {
+            return Opcode.FILTER;
+        } else if (token instanceof ScanPathToken && !token.isLeaf()) {
+            return Opcode.SCAN;
+        }
+        return Opcode.TOKEN;
+    }
+
+    private static Object operandOf(Opcode opcode, PathToken token) {
+        switch (opcode) {
+            case ROOT:
+                return PathSegment.root(token.getPathFragment());
+            case PROPERTY:
+                return ((PropertyPathToken) token).getProperties();
+            case INDEX:
+                return ((ArrayPathToken) token).getArrayIndexOperation();
+            case SLICE:
+                return ((ArrayPathToken) token).getArraySliceOperation();
+            case FILTER:
+                return token;
+            default:
+                return null;
+        }
+    }
+
+    int length() {
+        return opcodes.length;
+    }
+
+    Opcode opcode(int pc) {
+        return opcodes[pc];
+    }
+
+    Object operand(int pc) {
+        return operands[pc];
+    }
+
+    PathToken token(int pc) {
+        return tokens[pc];
+    }
+
+    boolean isLeaf(int pc) {
+        return pc == opcodes.length - 1;
+    }
+
+    boolean isDefinite() {
+        return definite;
+    }
+
+    @Override
+    public String toString() {
+        return string;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        } else if (!(obj instanceof PathProgram)) {
+            return false;
+        }
+        PathProgram other = (PathProgram) obj;
+        if (hash != other.hash || !string.equals(other.string)) {
+            return false;
+        }
+        // the string of a filter does not tell its predicates apart, filters compiled from a path string are
+        // equal if their filter strings are
+        for (int pc = 0; pc < opcodes.length; pc++) {
+            if (opcodes[pc] == Opcode.FILTER && !equalPredicates(
+                    ((PredicatePathToken) operands[pc]).getPredicates(),
+                    ((PredicatePathToken) other.operands[pc]).getPredicates())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean equalPredicates(Collection<Predicate> predicates, Collection<Predicate> others) {
+        if (predicates.size() != others.size()) {
+            return false;
+        }
+        Iterator<Predicate> iterator = others.iterator();
+        for (Predicate predicate : predicates) {
+            if (!predicate.equals(iterator.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.internal.Utils;
+
+import java.util.List;
+
+/**
+ * The path to a value visited during evaluation. Every segment only holds a reference to its parent
+ * and the property name or index it adds, the path string (e.g. <code>$['store']['book'][0]</code>)
+ * is not rendered until {@link #toString()} is called.
+ */
+public abstract class PathSegment {
+
+    private final PathSegment parent;
+    private final int depth;
+    private String rendered;
+
+    private PathSegment(PathSegment parent) {
+        this.parent = parent;
+        this.depth = parent == null ? 1 : parent.depth + 1;
+    }
+
+    public static PathSegment root(String rootToken) {
+        return new RootSegment(rootToken);
+    }
+
+    public PathSegment property(String property) {
+        return new PropertySegment(this, property);
+    }
+
+    public PathSegment properties(List<String> properties) {
+        return new PropertiesSegment(this, properties);
+    }
+
+    public PathSegment index(int index) {
+        return new IndexSegment(this, index);
+    }
+
+    abstract void appendTo(StringBuilder sb);
+
+    @Override
+    public String toString() {
+        String res = rendered;
+        if (res == null) {
+            PathSegment[] segments = new PathSegment[depth];
+            PathSegment segment = this;
+            for (int i = depth - 1; i >= 0; i--) {
+                segments[i] = segment;
+                segment = segment.parent;
+            }
+            StringBuilder sb = new StringBuilder(depth * 8);
+            for (PathSegment s : segments) {
+                s.appendTo(sb);
+            }
+            res = sb.toString();
+            rendered = res;
+        }
+        return res;
+    }
+
+    private static final class RootSegment extends PathSegment {
+        private final String rootToken;
+
+        private RootSegment(String rootToken) {
+            super(null);
+            this.rootToken = rootToken;
+        }
+
+        @Override
+        void appendTo(StringBuilder sb) {
+            sb.append(rootToken);
+        }
+
+        @Override
+        public String toString() {
+            return rootToken;
+        }
+    }
+
+    private static final class PropertySegment extends PathSegment {
+        private final String property;
+
+        private PropertySegment(PathSegment parent, String property) {
+            super(parent);
+            this.property = property;
+        }
+
+        @Override
+        void appendTo(StringBuilder sb) {
+            sb.append("['").append(property).append("']");
+        }
+    }
+
+    private static final class PropertiesSegment extends PathSegment {
+        private final List<String> properties;
+
+        private PropertiesSegment(PathSegment parent, List<String> properties) {
+            super(parent);
+            this.properties = properties;
+        }
+
+        @Override
+        void appendTo(StringBuilder sb) {
+            sb.append("[").append(Utils.join(", ", "'", properties)).append("]");
+        }
+    }
+
+    private static final class IndexSegment extends PathSegment {
+        private final int index;
+
+        private IndexSegment(PathSegment parent, int index) {
+            super(parent);
+            this.index = index;
+        }
+
+        @Override
+        void appendTo(StringBuilder sb) {
+            sb.append("[").append(index).append("]");
+        }
+    }
+}
@@ -17,7 +17,6 @@ package com.jayway.jsonpath.internal.path;
 import com.jayway.jsonpath.Option;
 import com.jayway.jsonpath.PathNotFoundException;
 import com.jayway.jsonpath.internal.PathRef;
-import com.jayway.jsonpath.internal.Utils;
 import com.jayway.jsonpath.internal.function.PathFunction;
 import com.jayway.jsonpath.spi.json.JsonProvider;
 
@@ -36,11 +35,11 @@ public abstract class PathToken {
         return next;
     }
 
-    void handleObjectProperty(String currentPath, Object model, EvaluationContextImpl ctx, List<String> properties) {
+    void handleObjectProperty(PathSegment currentPath, Object model, EvaluationContextImpl ctx, List<String> properties) {
 
         if(properties.size() == 1) {
             String property = properties.get(0);
-            String evalPath = Utils.concat(currentPath, "['", property, "']");
+            PathSegment evalPath = currentPath.property(property);
             Object propertyVal = readObjectProperty(property, model, ctx);
             if(propertyVal == JsonProvider.UNDEFINED){
                 // Conditions below heavily depend on current token type (and its logic) and are not "universal",
@@ -49,28 +48,9 @@ public abstract class PathToken {
                 // Better safe than sorry.
                 assert this instanceof PropertyPathToken : "only PropertyPathToken is supported";
 
-                if(isLeaf()) {
-                    if(ctx.options().contains(Option.DEFAULT_PATH_LEAF_TO_NULL)){
-                        propertyVal =  null;
-                    } else {
-                        if(ctx.options().contains(Option.SUPPRESS_EXCEPTIONS) ||
-                           !ctx.options().contains(Option.REQUIRE_PROPERTIES)){
-                            return;
-                        } else {
-                            throw new PathNotFoundException("No results for path: " + evalPath);
-                        }
-                    }
-                } else {
-                    if (! (isUpstreamDefinite() && isTokenDefinite()) &&
-                       !ctx.options().contains(Option.REQUIRE_PROPERTIES) ||
-                       ctx.options().contains(Option.SUPPRESS_EXCEPTIONS)){
-                        // If there is some indefiniteness in the path and properties are not required - we'll ignore
-                        // absent property. And also in case of exception suppression - so that other path evaluation
-                        // branches could be examined.
-                        return;
-                    } else {
-                        throw new PathNotFoundException("Missing property in path " + evalPath);
-                    }
+                propertyVal = missingProperty(evalPath, ctx);
+                if(propertyVal == JsonProvider.UNDEFINED){
+                    return;
                 }
             }
             PathRef pathRef = ctx.forUpdate() ? PathRef.create(model, property) : PathRef.NO_OP;
@@ -81,7 +61,7 @@ public abstract class PathToken {
                 next().evaluate(evalPath, pathRef, propertyVal, ctx);
             }
         } else {
-            String evalPath = currentPath + "[" + Utils.join(", ", "'", properties) + "]";
+            PathSegment evalPath = currentPath.properties(properties);
 
             assert isLeaf() : "non-leaf multi props handled elsewhere";
 
@@ -113,6 +93,38 @@ public abstract class PathToken {
         }
     }
 
+    /**
+     * Decides how to continue when the property of a single property evaluation is missing.
+     *
+     * @return the value to continue with, or {@link JsonProvider#UNDEFINED} if the property is skipped
+     * @throws PathNotFoundException if the property is required
+     */
+    Object missingProperty(PathSegment evalPath, EvaluationContextImpl ctx) {
+        if(isLeaf()) {
+            if(ctx.options().contains(Option.DEFAULT_PATH_LEAF_TO_NULL)){
+                return null;
+            } else {
+                if(ctx.options().contains(Option.SUPPRESS_EXCEPTIONS) ||
+                   !ctx.options().contains(Option.REQUIRE_PROPERTIES)){
+                    return JsonProvider.UNDEFINED;
+                } else {
+                    throw new PathNotFoundException("No results for path: " + evalPath);
+                }
+            }
+        } else {
+            if (! (isUpstreamDefinite() && isTokenDefinite()) &&
+               !ctx.options().contains(Option.REQUIRE_PROPERTIES) ||
+               ctx.options().contains(Option.SUPPRESS_EXCEPTIONS)){
+                // If there is some indefiniteness in the path and properties are not required - we'll ignore
+                // absent property. And also in case of exception suppression - so that other path evaluation
+                // branches could be examined.
+                return JsonProvider.UNDEFINED;
+            } else {
+                throw new PathNotFoundException("Missing property in path " + evalPath);
+            }
+        }
+    }
+
     private static boolean hasProperty(String property, Object model, EvaluationContextImpl ctx) {
         return ctx.jsonProvider().getPropertyKeys(model).contains(property);
     }
@@ -122,8 +134,8 @@ public abstract class PathToken {
     }
 
 
-    protected void handleArrayIndex(int index, String currentPath, Object model, EvaluationContextImpl ctx) {
-        String evalPath = Utils.concat(currentPath, "[", String.valueOf(index), "]");
+    protected void handleArrayIndex(int index, PathSegment currentPath, Object model, EvaluationContextImpl ctx) {
+        PathSegment evalPath = currentPath.index(index);
         PathRef pathRef = ctx.forUpdate() ? PathRef.create(model, index) : PathRef.NO_OP;
         try {
             Object evalHit = ctx.jsonProvider().getArrayIndex(model, index);
@@ -194,21 +206,11 @@ public abstract class PathToken {
         }
     }
 
-    @Override
-    public int hashCode() {
-        return toString().hashCode();
-    }
-
-    @Override
-    public boolean equals(Object obj) {
-        return super.equals(obj);
-    }
-
-    public void invoke(PathFunction pathFunction, String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
-        ctx.addResult(currentPath, parent, pathFunction.invoke(currentPath, parent, model, ctx));
+    public void invoke(PathFunction pathFunction, PathSegment currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+        ctx.addResult(currentPath, parent, pathFunction.invoke(currentPath.toString(), parent, model, ctx));
     }
 
-    public abstract void evaluate(String currentPath, PathRef parent,  Object model, EvaluationContextImpl ctx);
+    public abstract void evaluate(PathSegment currentPath, PathRef parent,  Object model, EvaluationContextImpl ctx);
 
     public abstract boolean isTokenDefinite();
 
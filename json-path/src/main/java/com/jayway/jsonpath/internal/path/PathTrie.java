@@ -0,0 +1,289 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.internal.EvaluationAbortException;
+import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.jayway.jsonpath.internal.Utils.notNull;
+
+/**
+ * A set of compiled paths merged into a prefix trie, e.g. <code>$.store.book[*].author</code> and
+ * <code>$.store.book[*].title</code> share the nodes for <code>$</code>, <code>['store']</code>,
+ * <code>['book']</code> and <code>[*]</code>.
+ * <p/>
+ * All paths are evaluated in a single traversal of the document. Every node is applied once for all paths
+ * sharing it, paths only branch off where their tokens differ. Filters are shared if the paths hold the same
+ * {@link com.jayway.jsonpath.Predicate} instances. Deep scans and functions are evaluated per path on the
+ * value they are applied to.
+ */
+public final class PathTrie {
+
+    private static final Logger logger = LoggerFactory.getLogger(PathTrie.class);
+
+    private final Path[] paths;
+    private final Node[] roots;
+
+    public PathTrie(Path... paths) {
+        notNull(paths, "paths can not be null");
+        this.paths = paths.clone();
+
+        Map<Object, Node> rootNodes = new LinkedHashMap<Object, Node>();
+        for (int i = 0; i < paths.length; i++) {
+            if (!(paths[i] instanceof CompiledPath)) {
+                throw new IllegalArgumentException("Only compiled paths can be evaluated in a trie, found: " + paths[i]);
+            }
+            Map<Object, Node> nodes = rootNodes;
+            PathToken token = ((CompiledPath) paths[i]).getRoot();
+            while (true) {
+                Object key = keyOf(token);
+                Node node = nodes.get(key);
+                if (node == null) {
+                    node = new Node(token);
+                    nodes.put(key, node);
+                }
+                node.addEntry(i, token);
+                if (token.isLeaf()) {
+                    break;
+                }
+                nodes = node.childNodes;
+                token = token.next();
+            }
+        }
+        this.roots = freeze(rootNodes.values());
+    }
+
+    /**
+     * @return number of paths in this trie
+     */
+    public int size() {
+        return paths.length;
+    }
+
+    Node[] roots() {
+        return roots;
+    }
+
+    /**
+     * Evaluates all paths against the given document.
+     *
+     * @param document      document to evaluate
+     * @param configuration configuration to use
+     * @param documentIndex the index of the document used by deep scans, or null
+     * @return one evaluation context per path, in the order the paths were given. Accessing the result of
+     * a path that failed throws the exception the path failed with
+     */
+    public EvaluationContext[] evaluate(Object document, Configuration configuration, DocumentIndex.Reference documentIndex) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Evaluating {} paths in a single traversal", paths.length);
+        }
+        BatchEvaluation evaluation = new BatchEvaluation(paths, document, configuration, documentIndex);
+        DocumentWalker walker = new DocumentWalker(evaluation);
+        for (Node root : roots) {
+            walker.apply(root, null, document);
+        }
+        return evaluation.results();
+    }
+
+    /**
+     * Checks if all paths can be evaluated against a stream using the given configuration.
+     *
+     * @param configuration configuration to use
+     * @return true if {@link #evaluate(InputStream, String, Configuration)} can be used
+     * @see StreamingEvaluator#canStream(Path, Configuration)
+     */
+    public boolean canStream(Configuration configuration) {
+        if (roots.length != 1) {
+            return false;
+        }
+        for (Path path : paths) {
+            if (!StreamingEvaluator.canStream(path, configuration)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Evaluates all paths in a single pass over the given stream. The caller is responsible for closing
+     * the stream. Reading stops when all paths are definite and have been evaluated.
+     *
+     * @param jsonStream    stream to read from
+     * @param charset       charset of the stream
+     * @param configuration configuration to use, {@link #canStream(Configuration)} must be true
+     * @return one evaluation context per path, in the order the paths were given
+     */
+    public EvaluationContext[] evaluate(InputStream jsonStream, String charset, Configuration configuration) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Evaluating {} paths on stream", paths.length);
+        }
+        BatchEvaluation evaluation = new BatchEvaluation(paths, StreamingEvaluator.STREAMED_DOCUMENT, configuration, null);
+        try {
+            new JsonStreamWalker(evaluation).walk(roots[0], jsonStream, charset);
+        } catch (EvaluationAbortException abort) {
+        }
+        return evaluation.results();
+    }
+
+    private static Object keyOf(PathToken token) {
+        if (token instanceof PredicatePathToken) {
+            // the fragment of a filter is [?], filters are only shared if they are the same instances
+            return ((PredicatePathToken) token).getPredicates();
+        }
+        return token.getPathFragment();
+    }
+
+    private static Node[] freeze(Collection<Node> nodes) {
+        Node[] res = nodes.toArray(new Node[nodes.size()]);
+        for (Node node : res) {
+            node.freeze();
+        }
+        return res;
+    }
+
+    /**
+     * A token shared by one or more paths.
+     */
+    static final class Node {
+
+        enum Kind {
+            ROOT,
+            PROPERTY,
+            ARRAY,
+            WILDCARD,
+            PREDICATE,
+            SCAN,
+            /**
+             * Evaluated by the tokens of the paths
+             */
+            TOKEN
+        }
+
+        final PathToken token;
+        final Match match = new Match(this);
+        final ElementFilter elementFilter = new ElementFilter(this);
+
+        Kind kind;
+        int[] paths;
+        PathToken[] tokens;
+        Node[] children;
+        /**
+         * What applies to a value this node selects: {@link #match} if the node is the leaf of a path,
+         * followed by the child nodes.
+         */
+        Object[] continuations;
+        boolean hasLeaf;
+
+        private final List<Integer> entryPaths = new ArrayList<Integer>(1);
+        private final List<PathToken> entryTokens = new ArrayList<PathToken>(1);
+        private Map<Object, Node> childNodes = new LinkedHashMap<Object, Node>();
+
+        private Node(PathToken token) {
+            this.token = token;
+        }
+
+        private void addEntry(int path, PathToken token) {
+            entryPaths.add(path);
+            entryTokens.add(token);
+        }
+
+        private void freeze() {
+            paths = new int[entryPaths.size()];
+            tokens = new PathToken[entryTokens.size()];
+            for (int i = 0; i < paths.length; i++) {
+                paths[i] = entryPaths.get(i);
+                tokens[i] = entryTokens.get(i);
+                hasLeaf |= tokens[i].isLeaf();
+            }
+            kind = kindOf(tokens);
+            children = PathTrie.freeze(childNodes.values());
+            childNodes = null;
+
+            continuations = new Object[children.length + (hasLeaf ? 1 : 0)];
+            int i = 0;
+            if (hasLeaf) {
+                continuations[i++] = match;
+            }
+            for (Node child : children) {
+                continuations[i++] = child;
+            }
+        }
+
+        boolean isLive(BatchEvaluation evaluation) {
+            for (int path : paths) {
+                if (!evaluation.isDone(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static Kind kindOf(PathToken[] tokens) {
+            PathToken token = tokens[0];
+            if (token instanceof RootPathToken) {
+                return Kind.ROOT;
+            } else if (token instanceof PropertyPathToken) {
+                for (PathToken t : tokens) {
+                    if (((PropertyPathToken) t).multiPropertyMergeCase()) {
+                        return Kind.TOKEN;
+                    }
+                }
+                return Kind.PROPERTY;
+            } else if (token instanceof ArrayPathToken) {
+                return Kind.ARRAY;
+            } else if (token instanceof WildcardPathToken) {
+                return Kind.WILDCARD;
+            } else if (token instanceof PredicatePathToken) {
+                return Kind.PREDICATE;
+            } else if (token instanceof ScanPathToken) {
+                return Kind.SCAN;
+            }
+            return Kind.TOKEN;
+        }
+    }
+
+    /**
+     * The value is a result of the paths ending at the node.
+     */
+    static final class Match {
+        final Node node;
+
+        private Match(Node node) {
+            this.node = node;
+        }
+    }
+
+    /**
+     * The value is an array element that has to be accepted by the filter of the node.
+     */
+    static final class ElementFilter {
+        final Node node;
+
+        private ElementFilter(Node node) {
+            this.node = node;
+        }
+    }
+}
@@ -31,26 +31,40 @@ public class PredicateContextImpl implements Predicate.PredicateContext {
     private final Object rootDocument;
     private final Configuration configuration;
     private final HashMap<Path, Object> documentPathCache;
+    private final DocumentIndex.Reference documentIndex;
 
     public PredicateContextImpl(Object contextDocument, Object rootDocument, Configuration configuration, HashMap<Path, Object> documentPathCache) {
+        this(contextDocument, rootDocument, configuration, documentPathCache, null);
+    }
+
+    /**
+     * @param documentIndex the index of the root document used by the deep scans of the evaluated paths, or null
+     */
+    public PredicateContextImpl(Object contextDocument, Object rootDocument, Configuration configuration, HashMap<Path, Object> documentPathCache,
+                                DocumentIndex.Reference documentIndex) {
         this.contextDocument = contextDocument;
         this.rootDocument = rootDocument;
         this.configuration = configuration;
         this.documentPathCache = documentPathCache;
+        this.documentIndex = documentIndex;
     }
 
     public Object evaluate(Path path){
         Object result;
         if(path.isRootPath()){
-            if(documentPathCache.containsKey(path)){
-                logger.debug("Using cached result for root path: " + path.toString());
-                result = documentPathCache.get(path);
-            } else {
-                result = path.evaluate(rootDocument, rootDocument, configuration).getValue();
+            // shared by the threads of a parallel filter
+            synchronized (documentPathCache) {
+                if(documentPathCache.containsKey(path)){
+                    logger.debug("Using cached result for root path: " + path.toString());
+                    return documentPathCache.get(path);
+                }
+            }
+            result = path.evaluate(rootDocument, rootDocument, configuration, Integer.MAX_VALUE, documentIndex).getValue();
+            synchronized (documentPathCache) {
                 documentPathCache.put(path, result);
             }
         } else {
-            result = path.evaluate(contextDocument, rootDocument, configuration).getValue();
+            result = path.evaluate(contextDocument, rootDocument, configuration, Integer.MAX_VALUE, documentIndex).getValue();
         }
         return result;
     }
@@ -59,6 +73,10 @@ public class PredicateContextImpl implements Predicate.PredicateContext {
         return documentPathCache;
     }
 
+    public DocumentIndex.Reference documentIndex() {
+        return documentIndex;
+    }
+
     @Override
     public Object item() {
         return contextDocument;
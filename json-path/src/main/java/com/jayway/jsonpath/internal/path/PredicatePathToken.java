@@ -19,7 +19,9 @@ import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.Predicate;
 import com.jayway.jsonpath.internal.PathRef;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
@@ -40,8 +42,12 @@ public class PredicatePathToken extends PathToken {
         this.predicates = predicates;
     }
 
+    Collection<Predicate> getPredicates() {
+        return predicates;
+    }
+
     @Override
-    public void evaluate(String currentPath, PathRef ref, Object model, EvaluationContextImpl ctx) {
+    public void evaluate(PathSegment currentPath, PathRef ref, Object model, EvaluationContextImpl ctx) {
         if (ctx.jsonProvider().isMap(model)) {
             if (accept(model, ctx.rootDocument(), ctx.configuration(), ctx)) {
                 PathRef op = ctx.forUpdate() ? ref : PathRef.NO_OP;
@@ -52,10 +58,17 @@ public class PredicatePathToken extends PathToken {
                 }
             }
         } else if (ctx.jsonProvider().isArray(model)){
+            if (ParallelFilter.isApplicable(ctx.jsonProvider().length(model), ctx)) {
+                evaluateParallel(currentPath, model, ctx);
+                return;
+            }
             int idx = 0;
             Iterable<?> objects = ctx.jsonProvider().toIterable(model);
 
             for (Object idxModel : objects) {
+                if (ctx.isLimitReached()) {
+                    break;
+                }
                 if (accept(idxModel, ctx.rootDocument(),  ctx.configuration(), ctx)) {
                     handleArrayIndex(idx, currentPath, model, ctx);
                 }
@@ -68,8 +81,22 @@ public class PredicatePathToken extends PathToken {
         }
     }
 
+    private void evaluateParallel(PathSegment currentPath, Object model, EvaluationContextImpl ctx) {
+        List<Object> elements = new ArrayList<Object>(ctx.jsonProvider().length(model));
+        for (Object idxModel : ctx.jsonProvider().toIterable(model)) {
+            elements.add(idxModel);
+        }
+        boolean[] accepted = ParallelFilter.accept(this, elements, ctx);
+        for (int idx = 0; idx < accepted.length && !ctx.isLimitReached(); idx++) {
+            if (accepted[idx]) {
+                handleArrayIndex(idx, currentPath, model, ctx);
+            }
+        }
+    }
+
     public boolean accept(final Object obj, final Object root, final Configuration configuration, EvaluationContextImpl evaluationContext) {
-        Predicate.PredicateContext ctx = new PredicateContextImpl(obj, root, configuration, evaluationContext.documentEvalCache());
+        Predicate.PredicateContext ctx = new PredicateContextImpl(obj, root, configuration, evaluationContext.documentEvalCache(),
+                evaluationContext.documentIndexReference());
 
         for (Predicate predicate : predicates) {
             if (!predicate.apply (ctx)) {
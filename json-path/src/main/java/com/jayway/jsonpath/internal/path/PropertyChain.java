@@ -0,0 +1,106 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A relative path made up of single properties and single array indexes only, like <code>@.price</code>
+ * or <code>@['book'][0].title</code>, as commonly used as filter operand.
+ * <p/>
+ * Such a path selects at most one value that is read directly from the json provider, without creating
+ * an evaluation context. The value is the same as the value of {@link Path#evaluate(Object, Object, Configuration)}.
+ */
+public final class PropertyChain {
+
+    // a String for a property, an Integer for an array index
+    private final Object[] steps;
+
+    private PropertyChain(Object[] steps) {
+        this.steps = steps;
+    }
+
+    /**
+     * @param path a compiled path
+     * @return the chain of the path, or null if the path is not a relative chain of single properties and indexes
+     */
+    public static PropertyChain of(Path path) {
+        if (!(path instanceof CompiledPath) || path.isRootPath()) {
+            return null;
+        }
+        List<Object> steps = new ArrayList<Object>();
+        PathToken token = ((CompiledPath) path).getRoot();
+        while (!token.isLeaf()) {
+            token = token.next();
+            if (token instanceof PropertyPathToken && ((PropertyPathToken) token).singlePropertyCase()) {
+                steps.add(((PropertyPathToken) token).getProperties().get(0));
+            } else if (token instanceof ArrayPathToken
+                    && ((ArrayPathToken) token).getArrayIndexOperation() != null
+                    && ((ArrayPathToken) token).getArrayIndexOperation().isSingleIndexOperation()) {
+                steps.add(((ArrayPathToken) token).getArrayIndexOperation().indexes().get(0));
+            } else {
+                return null;
+            }
+        }
+        return new PropertyChain(steps.toArray());
+    }
+
+    /**
+     * Reads the value the path selects in the item.
+     *
+     * @param item          the item the path is relative to
+     * @param configuration configuration to use
+     * @return the (wrapped) value, {@link JsonProvider#UNDEFINED} if the path does not select a value
+     */
+    public Object read(Object item, Configuration configuration) {
+        JsonProvider jsonProvider = configuration.jsonProvider();
+        Object model = item;
+        for (int i = 0; i < steps.length; i++) {
+            Object step = steps[i];
+            if (step instanceof String) {
+                if (!jsonProvider.isMap(model)) {
+                    return JsonProvider.UNDEFINED;
+                }
+                model = jsonProvider.getMapValue(model, (String) step);
+                if (model == JsonProvider.UNDEFINED) {
+                    boolean leaf = i == steps.length - 1;
+                    return leaf && configuration.containsOption(Option.DEFAULT_PATH_LEAF_TO_NULL) ? null : JsonProvider.UNDEFINED;
+                }
+            } else {
+                if (model == null || !jsonProvider.isArray(model)) {
+                    return JsonProvider.UNDEFINED;
+                }
+                try {
+                    model = jsonProvider.getArrayIndex(model, (Integer) step);
+                } catch (IndexOutOfBoundsException e) {
+                    return JsonProvider.UNDEFINED;
+                }
+            }
+        }
+        if (!(model instanceof Number || model instanceof String || model instanceof Boolean)) {
+            // the engine passes results through a result array, some providers copy containers or reject nulls doing so
+            Object result = jsonProvider.createArray();
+            jsonProvider.setArrayIndex(result, 0, model);
+            model = jsonProvider.getArrayIndex(result, 0);
+        }
+        return model;
+    }
+}
@@ -58,7 +58,7 @@ class PropertyPathToken extends PathToken {
     }
 
     @Override
-    public void evaluate(String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+    public void evaluate(PathSegment currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
         // Can't assert it in ctor because isLeaf() could be changed later on.
         assert onlyOneIsTrueNonThrow(singlePropertyCase(), multiPropertyMergeCase(), multiPropertyIterationCase());
 
@@ -84,6 +84,9 @@ class PropertyPathToken extends PathToken {
         final List<String> currentlyHandledProperty = new ArrayList<String>(1);
         currentlyHandledProperty.add(null);
         for (final String property : properties) {
+            if (ctx.isLimitReached()) {
+                break;
+            }
             currentlyHandledProperty.set(0, property);
             handleObjectProperty(currentPath, model, ctx, currentlyHandledProperty);
         }
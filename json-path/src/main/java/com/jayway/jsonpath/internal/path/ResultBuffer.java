@@ -0,0 +1,74 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.internal.PathRef;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the results of a part of an evaluation until they are added to the evaluation, without notifying
+ * listeners. A buffer accepts no more results than the evaluation does when it is created, as they could not
+ * be added to it.
+ */
+class ResultBuffer extends EvaluationContextImpl {
+    private final List<PathSegment> paths = new ArrayList<PathSegment>();
+    private final List<PathRef> operations = new ArrayList<PathRef>();
+    private final List<Object> models = new ArrayList<Object>();
+    private final int limit;
+
+    ResultBuffer(EvaluationContextImpl ctx) {
+        super(ctx);
+        this.limit = ctx.remainingResults();
+    }
+
+    @Override
+    boolean isLimitReached() {
+        return paths.size() >= limit;
+    }
+
+    @Override
+    public void addResult(PathSegment path, PathRef operation, Object model) {
+        if (isLimitReached()) {
+            return;
+        }
+        paths.add(path);
+        operations.add(operation);
+        models.add(model);
+    }
+
+    int size() {
+        return paths.size();
+    }
+
+    PathSegment path(int index) {
+        return paths.get(index);
+    }
+
+    PathRef operation(int index) {
+        return operations.get(index);
+    }
+
+    Object model(int index) {
+        return models.get(index);
+    }
+
+    void mergeInto(EvaluationContextImpl ctx) {
+        for (int i = 0; i < paths.size(); i++) {
+            ctx.addResult(paths.get(i), operations.get(i), models.get(i));
+        }
+    }
+}
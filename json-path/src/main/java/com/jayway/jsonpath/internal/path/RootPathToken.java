@@ -24,10 +24,12 @@ public class RootPathToken extends PathToken {
     private PathToken tail;
     private int tokenCount;
     private final String rootToken;
+    private final PathSegment rootSegment;
 
 
     RootPathToken(char rootToken) {
-        this.rootToken = Character.toString(rootToken);;
+        this.rootToken = Character.toString(rootToken);
+        this.rootSegment = PathSegment.root(this.rootToken);
         this.tail = this;
         this.tokenCount = 1;
     }
@@ -54,12 +56,12 @@ public class RootPathToken extends PathToken {
     }
 
     @Override
-    public void evaluate(String currentPath, PathRef pathRef, Object model, EvaluationContextImpl ctx) {
+    public void evaluate(PathSegment currentPath, PathRef pathRef, Object model, EvaluationContextImpl ctx) {
         if (isLeaf()) {
             PathRef op = ctx.forUpdate() ?  pathRef : PathRef.NO_OP;
-            ctx.addResult(rootToken, op, model);
+            ctx.addResult(rootSegment, op, model);
         } else {
-            next().evaluate(rootToken, pathRef, model, ctx);
+            next().evaluate(rootSegment, pathRef, model, ctx);
         }
     }
 
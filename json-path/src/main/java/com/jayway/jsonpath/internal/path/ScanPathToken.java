@@ -29,14 +29,21 @@ public class ScanPathToken extends PathToken {
     }
 
     @Override
-    public void evaluate(String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+    public void evaluate(PathSegment currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
 
         PathToken pt = next();
 
+        if (ParallelScan.isApplicable(pt, ctx)) {
+            ParallelScan.walk(pt, currentPath, parent, model, ctx, createScanPredicate(pt, ctx));
+            return;
+        }
         walk(pt, currentPath, parent,  model, ctx, createScanPredicate(pt, ctx));
     }
 
-    public static void walk(PathToken pt, String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx, Predicate predicate) {
+    public static void walk(PathToken pt, PathSegment currentPath, PathRef parent, Object model, EvaluationContextImpl ctx, Predicate predicate) {
+        if (ctx.isLimitReached() || !predicate.mayMatchWithin(model)) {
+            return;
+        }
         if (ctx.jsonProvider().isMap(model)) {
             walkObject(pt, currentPath, parent, model, ctx, predicate);
         } else if (ctx.jsonProvider().isArray(model)) {
@@ -44,8 +51,45 @@ public class ScanPathToken extends PathToken {
         }
     }
 
-    public static void walkArray(PathToken pt, String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx, Predicate predicate) {
+    public static void walkArray(PathToken pt, PathSegment currentPath, PathRef parent, Object model, EvaluationContextImpl ctx, Predicate predicate) {
+
+        visitArray(pt, currentPath, parent, model, ctx, predicate);
+
+        Iterable<?> models = ctx.jsonProvider().toIterable(model);
+        int idx = 0;
+        for (Object evalModel : models) {
+            PathSegment evalPath = currentPath.index(idx);
+            walk(pt, evalPath, PathRef.create(model, idx), evalModel, ctx, predicate);
+            idx++;
+        }
+    }
+
+    public static void walkObject(PathToken pt, PathSegment currentPath, PathRef parent, Object model, EvaluationContextImpl ctx, Predicate predicate) {
 
+        visitObject(pt, currentPath, parent, model, ctx, predicate);
+
+        Collection<String> properties = ctx.jsonProvider().getPropertyKeys(model);
+
+        for (String property : properties) {
+            Object propertyModel = ctx.jsonProvider().getMapValue(model, property);
+            if (propertyModel != JsonProvider.UNDEFINED) {
+                walk(pt, currentPath.property(property), PathRef.create(model, property), propertyModel, ctx, predicate);
+            }
+        }
+    }
+
+    /**
+     * Evaluates the scanned token on a container if it matches, without walking its children.
+     */
+    static void visit(PathToken pt, PathSegment currentPath, PathRef parent, Object model, EvaluationContextImpl ctx, Predicate predicate) {
+        if (ctx.jsonProvider().isMap(model)) {
+            visitObject(pt, currentPath, parent, model, ctx, predicate);
+        } else if (ctx.jsonProvider().isArray(model)) {
+            visitArray(pt, currentPath, parent, model, ctx, predicate);
+        }
+    }
+
+    private static void visitArray(PathToken pt, PathSegment currentPath, PathRef parent, Object model, EvaluationContextImpl ctx, Predicate predicate) {
         if (predicate.matches(model)) {
             if (pt.isLeaf()) {
                 pt.evaluate(currentPath, parent, model, ctx);
@@ -54,39 +98,24 @@ public class ScanPathToken extends PathToken {
                 Iterable<?> models = ctx.jsonProvider().toIterable(model);
                 int idx = 0;
                 for (Object evalModel : models) {
-                    String evalPath = currentPath + "[" + idx + "]";
+                    if (ctx.isLimitReached()) {
+                        return;
+                    }
+                    PathSegment evalPath = currentPath.index(idx);
                     next.evaluate(evalPath, parent, evalModel, ctx);
                     idx++;
                 }
             }
         }
-
-        Iterable<?> models = ctx.jsonProvider().toIterable(model);
-        int idx = 0;
-        for (Object evalModel : models) {
-            String evalPath = currentPath + "[" + idx + "]";
-            walk(pt, evalPath, PathRef.create(model, idx), evalModel, ctx, predicate);
-            idx++;
-        }
     }
 
-    public static void walkObject(PathToken pt, String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx, Predicate predicate) {
-
+    private static void visitObject(PathToken pt, PathSegment currentPath, PathRef parent, Object model, EvaluationContextImpl ctx, Predicate predicate) {
         if (predicate.matches(model)) {
             pt.evaluate(currentPath, parent, model, ctx);
         }
-        Collection<String> properties = ctx.jsonProvider().getPropertyKeys(model);
-
-        for (String property : properties) {
-            String evalPath = currentPath + "['" + property + "']";
-            Object propertyModel = ctx.jsonProvider().getMapValue(model, property);
-            if (propertyModel != JsonProvider.UNDEFINED) {
-                walk(pt, evalPath, PathRef.create(model, property), propertyModel, ctx, predicate);
-            }
-        }
     }
 
-    private static Predicate createScanPredicate(final PathToken target, final EvaluationContextImpl ctx) {
+    static Predicate createScanPredicate(final PathToken target, final EvaluationContextImpl ctx) {
         if (target instanceof PropertyPathToken) {
             return new PropertyPathTokenPredicate(target, ctx);
         } else if (target instanceof ArrayPathToken) {
@@ -111,8 +140,13 @@ public class ScanPathToken extends PathToken {
         return "..";
     }
 
-    private interface Predicate {
+    interface Predicate {
         boolean matches(Object model);
+
+        /**
+         * @return false if neither the container nor anything beneath it can match
+         */
+        boolean mayMatchWithin(Object model);
     }
 
     private static final Predicate FALSE_PREDICATE = new Predicate() {
@@ -121,6 +155,11 @@ public class ScanPathToken extends PathToken {
         public boolean matches(Object model) {
             return false;
         }
+
+        @Override
+        public boolean mayMatchWithin(Object model) {
+            return true;
+        }
     };
 
     private static final class FilterPathTokenPredicate implements Predicate {
@@ -136,6 +175,11 @@ public class ScanPathToken extends PathToken {
         public boolean matches(Object model) {
             return predicatePathToken.accept(model, ctx.rootDocument(), ctx.configuration(), ctx);
         }
+
+        @Override
+        public boolean mayMatchWithin(Object model) {
+            return true;
+        }
     }
 
     private static final class WildcardPathTokenPredicate implements Predicate {
@@ -144,6 +188,11 @@ public class ScanPathToken extends PathToken {
         public boolean matches(Object model) {
             return true;
         }
+
+        @Override
+        public boolean mayMatchWithin(Object model) {
+            return true;
+        }
     }
 
     private static final class ArrayPathTokenPredicate implements Predicate {
@@ -157,15 +206,30 @@ public class ScanPathToken extends PathToken {
         public boolean matches(Object model) {
             return ctx.jsonProvider().isArray(model);
         }
+
+        @Override
+        public boolean mayMatchWithin(Object model) {
+            return true;
+        }
     }
 
     private static final class PropertyPathTokenPredicate implements Predicate {
         private final EvaluationContextImpl ctx;
         private PropertyPathToken propertyPathToken;
+        private final DocumentIndex documentIndex;
 
         private PropertyPathTokenPredicate(PathToken target, EvaluationContextImpl ctx) {
             this.ctx = ctx;
             propertyPathToken = (PropertyPathToken) target;
+            // only maps having all properties match, see below
+            boolean requiresProperties = propertyPathToken.isTokenDefinite()
+                    && !(propertyPathToken.isLeaf() && ctx.options().contains(Option.DEFAULT_PATH_LEAF_TO_NULL));
+            this.documentIndex = requiresProperties ? ctx.documentIndex() : null;
+        }
+
+        @Override
+        public boolean mayMatchWithin(Object model) {
+            return documentIndex == null || documentIndex.mayContain(model, propertyPathToken.getProperties());
         }
 
         @Override
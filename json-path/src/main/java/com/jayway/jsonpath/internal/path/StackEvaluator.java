@@ -0,0 +1,539 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.PathNotFoundException;
+import com.jayway.jsonpath.internal.EvaluationAbortException;
+import com.jayway.jsonpath.internal.PathRef;
+import com.jayway.jsonpath.internal.path.PathProgram.Opcode;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Evaluates a {@link PathProgram} with an explicit stack of the containers being iterated instead of recursing
+ * through {@link PathToken#evaluate(PathSegment, PathRef, Object, EvaluationContextImpl)}, so a deeply nested
+ * document does not need a deep call stack, see {@link Option#ITERATIVE_EVALUATION}.
+ * <p/>
+ * Results are added to the context in the order, and with the options, listeners and update operations, of
+ * the recursive evaluation. The evaluation can be driven one result at a time, see {@link #next()}. Cases that
+ * end in a single result or an exception, e.g. merging several properties, functions or a property of
+ * something that is not a map, are evaluated by the token when they are reached. Filters and deep scans are
+ * evaluated sequentially.
+ */
+final class StackEvaluator {
+
+    private final PathProgram program;
+    private final EvaluationContextImpl ctx;
+    private final JsonProvider jsonProvider;
+    private final boolean forUpdate;
+    private final List<Frame> stack = new ArrayList<Frame>();
+
+    private boolean found;
+    private PathSegment resultPath;
+    private Object resultModel;
+
+    StackEvaluator(PathProgram program, Object document, EvaluationContextImpl ctx) {
+        this.program = program;
+        this.ctx = ctx;
+        this.jsonProvider = ctx.jsonProvider();
+        this.forUpdate = ctx.forUpdate();
+        PathRef root = forUpdate ? PathRef.createRoot(ctx.rootDocument()) : PathRef.NO_OP;
+        this.stack.add(new RootFrame(document, root));
+    }
+
+    /**
+     * Evaluates the whole path.
+     */
+    void evaluate() {
+        while (next()) {
+        }
+    }
+
+    /**
+     * Evaluates the path until the next result has been added to the context.
+     *
+     * @return false if there are no more results
+     * @throws RuntimeException the exception the evaluation ran into, if it is not handled within the path
+     */
+    boolean next() {
+        found = false;
+        while (!found && !stack.isEmpty()) {
+            if (ctx.isLimitReached()) {
+                stack.clear();
+                return false;
+            }
+            Frame frame = stack.get(stack.size() - 1);
+            try {
+                if (!frame.advance()) {
+                    stack.remove(stack.size() - 1);
+                }
+            } catch (EvaluationAbortException abort) {
+                stack.clear();
+            } catch (RuntimeException e) {
+                recover(e);
+            }
+        }
+        return found;
+    }
+
+    PathSegment resultPath() {
+        return resultPath;
+    }
+
+    Object resultModel() {
+        return resultModel;
+    }
+
+    /**
+     * Ends the evaluation of the frames that do not handle the exception, as unwinding the recursion would.
+     */
+    private void recover(RuntimeException e) {
+        for (int i = stack.size() - 1; i >= 0; i--) {
+            if (stack.get(i).handles(e)) {
+                stack.subList(i + 1, stack.size()).clear();
+                return;
+            }
+        }
+        stack.clear();
+        throw e;
+    }
+
+    private void addResult(PathSegment path, PathRef parent, Object model) {
+        found = true;
+        resultPath = path;
+        resultModel = model;
+        // notifies listeners, which may abort
+        ctx.addResult(path, parent, model);
+    }
+
+    private PathRef ref(Object model, String property) {
+        return forUpdate ? PathRef.create(model, property) : PathRef.NO_OP;
+    }
+
+    private PathRef ref(Object model, int index) {
+        return forUpdate ? PathRef.create(model, index) : PathRef.NO_OP;
+    }
+
+    /**
+     * Continues with the instruction following the given one, for a value it selected.
+     */
+    private void continueWith(int pc, PathSegment currentPath, PathRef parent, Object model) {
+        if (program.isLeaf(pc)) {
+            addResult(currentPath, parent, model);
+        } else {
+            evaluate(pc + 1, currentPath, parent, model);
+        }
+    }
+
+    private void continueWithProperty(int pc, PathSegment currentPath, Object model, String property) {
+        PathSegment evalPath = currentPath.property(property);
+        Object propertyVal = jsonProvider.getMapValue(model, property);
+        if (propertyVal == JsonProvider.UNDEFINED) {
+            propertyVal = program.token(pc).missingProperty(evalPath, ctx);
+            if (propertyVal == JsonProvider.UNDEFINED) {
+                return;
+            }
+        }
+        continueWith(pc, evalPath, ref(model, property), propertyVal);
+    }
+
+    private void continueWithIndex(int pc, PathSegment currentPath, Object model, int index) {
+        Object element;
+        try {
+            element = jsonProvider.getArrayIndex(model, index);
+        } catch (IndexOutOfBoundsException e) {
+            return;
+        }
+        continueWith(pc, currentPath.index(index), ref(model, index), element);
+    }
+
+    private void evaluate(int pc, PathSegment currentPath, PathRef parent, Object model) {
+        switch (program.opcode(pc)) {
+            case PROPERTY:
+                if (jsonProvider.isMap(model)) {
+                    @SuppressWarnings("unchecked")
+                    List<String> properties = (List<String>) program.operand(pc);
+                    if (properties.size() == 1) {
+                        // a single value, the rest of the path is not repeated
+                        continueWithProperty(pc, currentPath, model, properties.get(0));
+                    } else {
+                        stack.add(new PropertyFrame(pc, currentPath, model, properties.iterator()));
+                    }
+                    return;
+                }
+                break;
+            case INDEX:
+            case SLICE:
+                if (model != null && jsonProvider.isArray(model)) {
+                    stack.add(new ArrayFrame(pc, currentPath, model));
+                    return;
+                }
+                break;
+            case WILDCARD:
+                if (jsonProvider.isMap(model)) {
+                    stack.add(new PropertyFrame(pc, currentPath, model, jsonProvider.getPropertyKeys(model).iterator()));
+                } else if (jsonProvider.isArray(model)) {
+                    stack.add(new WildcardArrayFrame(pc, currentPath, model));
+                }
+                return;
+            case FILTER:
+                PredicatePathToken filter = (PredicatePathToken) program.operand(pc);
+                if (jsonProvider.isMap(model)) {
+                    if (filter.accept(model, ctx.rootDocument(), ctx.configuration(), ctx)) {
+                        continueWith(pc, currentPath, parent, model);
+                    }
+                    return;
+                } else if (jsonProvider.isArray(model)) {
+                    stack.add(new FilterFrame(pc, filter, currentPath, model));
+                    return;
+                }
+                break;
+            case SCAN:
+                ScanPathToken.Predicate predicate = ScanPathToken.createScanPredicate(program.token(pc + 1), ctx);
+                if (jsonProvider.isMap(model)) {
+                    stack.add(new WalkFrame(pc + 1, predicate, currentPath, parent, model, true));
+                } else if (jsonProvider.isArray(model)) {
+                    stack.add(new WalkFrame(pc + 1, predicate, currentPath, parent, model, false));
+                }
+                return;
+        }
+        stack.add(new TokenFrame(program.token(pc), currentPath, parent, model));
+    }
+
+    private abstract static class Frame {
+        /**
+         * Continues the evaluation with the next value selected by the frame.
+         *
+         * @return false if there are no more values
+         */
+        abstract boolean advance();
+
+        /**
+         * @return true if the frame ignores the exception thrown while evaluating one of its values
+         */
+        boolean handles(RuntimeException e) {
+            return false;
+        }
+    }
+
+    private final class RootFrame extends Frame {
+        private final Object document;
+        private final PathRef parent;
+        private boolean started;
+
+        private RootFrame(Object document, PathRef parent) {
+            this.document = document;
+            this.parent = parent;
+        }
+
+        @Override
+        boolean advance() {
+            if (started) {
+                return false;
+            }
+            started = true;
+            continueWith(0, (PathSegment) program.operand(0), parent, document);
+            return true;
+        }
+    }
+
+    /**
+     * Selects properties of a map, see {@link PathToken#handleObjectProperty}.
+     */
+    private final class PropertyFrame extends Frame {
+        private final int pc;
+        private final PathSegment currentPath;
+        private final Object model;
+        private final Iterator<String> properties;
+
+        private PropertyFrame(int pc, PathSegment currentPath, Object model, Iterator<String> properties) {
+            this.pc = pc;
+            this.currentPath = currentPath;
+            this.model = model;
+            this.properties = properties;
+        }
+
+        @Override
+        boolean advance() {
+            if (!properties.hasNext()) {
+                return false;
+            }
+            continueWithProperty(pc, currentPath, model, properties.next());
+            return true;
+        }
+    }
+
+    /**
+     * Selects elements of an array by index or slice, see {@link ArrayPathToken}.
+     */
+    private final class ArrayFrame extends Frame {
+        private final int pc;
+        private final PathSegment currentPath;
+        private final Object model;
+        private final List<Integer> indexes;
+        private int next;
+        private int to;
+
+        private ArrayFrame(int pc, PathSegment currentPath, Object model) {
+            this.pc = pc;
+            this.currentPath = currentPath;
+            this.model = model;
+            if (program.opcode(pc) == Opcode.INDEX) {
+                this.indexes = ((ArrayIndexOperation) program.operand(pc)).indexes();
+                this.to = indexes.size();
+            } else {
+                this.indexes = null;
+                slice((ArraySliceOperation) program.operand(pc), jsonProvider.length(model));
+            }
+        }
+
+        private void slice(ArraySliceOperation operation, int length) {
+            switch (operation.operation()) {
+                case SLICE_FROM:
+                    next = operation.from() < 0 ? Math.max(0, length + operation.from()) : operation.from();
+                    to = length;
+                    break;
+                case SLICE_TO:
+                    to = Math.min(length, operation.to() < 0 ? length + operation.to() : operation.to());
+                    break;
+                default:
+                    next = operation.from();
+                    to = Math.min(length, operation.to());
+            }
+        }
+
+        @Override
+        boolean advance() {
+            if (next >= to) {
+                return false;
+            }
+            int index = next++;
+            continueWithIndex(pc, currentPath, model, indexes == null ? index : indexes.get(index));
+            return true;
+        }
+
+        @Override
+        boolean handles(RuntimeException e) {
+            return e instanceof IndexOutOfBoundsException;
+        }
+    }
+
+    /**
+     * Selects all elements of an array, see {@link WildcardPathToken}.
+     */
+    private final class WildcardArrayFrame extends Frame {
+        private final int pc;
+        private final PathSegment currentPath;
+        private final Object model;
+        private int next;
+
+        private WildcardArrayFrame(int pc, PathSegment currentPath, Object model) {
+            this.pc = pc;
+            this.currentPath = currentPath;
+            this.model = model;
+        }
+
+        @Override
+        boolean advance() {
+            if (next >= jsonProvider.length(model)) {
+                return false;
+            }
+            continueWithIndex(pc, currentPath, model, next++);
+            return true;
+        }
+
+        @Override
+        boolean handles(RuntimeException e) {
+            return e instanceof IndexOutOfBoundsException
+                    || e instanceof PathNotFoundException && !ctx.options().contains(Option.REQUIRE_PROPERTIES);
+        }
+    }
+
+    /**
+     * Selects the elements of an array accepted by a filter, see {@link PredicatePathToken}.
+     */
+    private final class FilterFrame extends Frame {
+        private final int pc;
+        private final PredicatePathToken filter;
+        private final PathSegment currentPath;
+        private final Object model;
+        private final Iterator<?> elements;
+        private int next;
+
+        private FilterFrame(int pc, PredicatePathToken filter, PathSegment currentPath, Object model) {
+            this.pc = pc;
+            this.filter = filter;
+            this.currentPath = currentPath;
+            this.model = model;
+            this.elements = jsonProvider.toIterable(model).iterator();
+        }
+
+        @Override
+        boolean advance() {
+            if (!elements.hasNext()) {
+                return false;
+            }
+            int index = next++;
+            if (filter.accept(elements.next(), ctx.rootDocument(), ctx.configuration(), ctx)) {
+                continueWithIndex(pc, currentPath, model, index);
+            }
+            return true;
+        }
+
+        @Override
+        boolean handles(RuntimeException e) {
+            return e instanceof IndexOutOfBoundsException;
+        }
+    }
+
+    /**
+     * Walks a container for a deep scan, see {@link ScanPathToken#walk}: the scanned instruction is evaluated on
+     * the container if it matches, then the containers in it are walked.
+     */
+    private final class WalkFrame extends Frame {
+        private final int scanned;
+        private final ScanPathToken.Predicate predicate;
+        private final PathSegment currentPath;
+        private final PathRef parent;
+        private final Object model;
+        private final boolean isMap;
+        private Iterator<?> children;
+        private int next;
+
+        private WalkFrame(int scanned, ScanPathToken.Predicate predicate, PathSegment currentPath, PathRef parent, Object model, boolean isMap) {
+            this.scanned = scanned;
+            this.predicate = predicate;
+            this.currentPath = currentPath;
+            this.parent = parent;
+            this.model = model;
+            this.isMap = isMap;
+        }
+
+        @Override
+        boolean advance() {
+            if (children == null) {
+                if (!predicate.mayMatchWithin(model)) {
+                    return false;
+                }
+                children = isMap ? jsonProvider.getPropertyKeys(model).iterator() : jsonProvider.toIterable(model).iterator();
+                if (predicate.matches(model)) {
+                    visit();
+                }
+                return true;
+            }
+            while (children.hasNext()) {
+                if (isMap) {
+                    String property = (String) children.next();
+                    Object propertyModel = jsonProvider.getMapValue(model, property);
+                    if (propertyModel != JsonProvider.UNDEFINED && walk(currentPath.property(property), ref(model, property), propertyModel)) {
+                        return true;
+                    }
+                } else {
+                    int index = next++;
+                    Object element = children.next();
+                    if (walk(currentPath.index(index), ref(model, index), element)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private void visit() {
+            if (isMap || program.isLeaf(scanned)) {
+                evaluate(scanned, currentPath, parent, model);
+            } else {
+                // as the recursive scan does, the instruction following the scanned one is evaluated on the elements
+                stack.add(new ElementsFrame(scanned + 1, currentPath, parent, model));
+            }
+        }
+
+        /**
+         * @return false if the value is not a container, the walk ignores it
+         */
+        private boolean walk(PathSegment path, PathRef parent, Object model) {
+            if (jsonProvider.isMap(model)) {
+                stack.add(new WalkFrame(scanned, predicate, path, parent, model, true));
+            } else if (jsonProvider.isArray(model)) {
+                stack.add(new WalkFrame(scanned, predicate, path, parent, model, false));
+            } else {
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Evaluates an instruction on all elements of an array.
+     */
+    private final class ElementsFrame extends Frame {
+        private final int pc;
+        private final PathSegment currentPath;
+        private final PathRef parent;
+        private final Iterator<?> elements;
+        private int next;
+
+        private ElementsFrame(int pc, PathSegment currentPath, PathRef parent, Object model) {
+            this.pc = pc;
+            this.currentPath = currentPath;
+            this.parent = parent;
+            this.elements = jsonProvider.toIterable(model).iterator();
+        }
+
+        @Override
+        boolean advance() {
+            if (!elements.hasNext()) {
+                return false;
+            }
+            evaluate(pc, currentPath.index(next++), parent, elements.next());
+            return true;
+        }
+    }
+
+    /**
+     * Evaluates the rest of the path from a token recursively, then adds its results.
+     */
+    private final class TokenFrame extends Frame {
+        private final ResultBuffer results;
+        private RuntimeException failure;
+        private int next;
+
+        private TokenFrame(PathToken token, PathSegment currentPath, PathRef parent, Object model) {
+            this.results = new ResultBuffer(ctx);
+            try {
+                token.evaluate(currentPath, parent, model, results);
+            } catch (RuntimeException e) {
+                // thrown after the results before it, as it would have been
+                failure = e;
+            }
+        }
+
+        @Override
+        boolean advance() {
+            if (next < results.size()) {
+                int index = next++;
+                addResult(results.path(index), results.operation(index), results.model(index));
+                return true;
+            } else if (failure != null) {
+                throw failure;
+            }
+            return false;
+        }
+    }
+}
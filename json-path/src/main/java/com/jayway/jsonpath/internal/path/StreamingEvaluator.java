@@ -0,0 +1,116 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.Criteria;
+import com.jayway.jsonpath.Filter;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.Predicate;
+import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+
+/**
+ * Evaluates a compiled path directly against a json input stream, without parsing the whole
+ * document into the object model of the configured {@link com.jayway.jsonpath.spi.json.JsonProvider}.
+ * <p/>
+ * The stream is read with a Jackson <code>JsonParser</code>. Subtrees that can not contain a match are
+ * skipped, only matched values are built using the configured json provider. Filters and functions are
+ * evaluated against the (materialized) value they are applied to. Evaluation of a definite path ends
+ * as soon as its value has been found.
+ * <p/>
+ * Results of indefinite paths are returned in document order.
+ */
+public final class StreamingEvaluator {
+
+    private static final Logger logger = LoggerFactory.getLogger(StreamingEvaluator.class);
+
+    /**
+     * Stands in for the root document, which is never built when streaming. Paths using filters that
+     * refer to the root document are not streamed.
+     */
+    static final Object STREAMED_DOCUMENT = new Object();
+
+    private static final boolean JACKSON_AVAILABLE = isJacksonAvailable();
+
+    private StreamingEvaluator() {
+    }
+
+    /**
+     * Checks if the given path can be evaluated against a stream using the given configuration. If not,
+     * the document has to be parsed before the path is evaluated.
+     *
+     * @param path          path to evaluate
+     * @param configuration configuration to use
+     * @return true if the path can be streamed
+     */
+    public static boolean canStream(Path path, Configuration configuration) {
+        if (!JACKSON_AVAILABLE || !(path instanceof CompiledPath)) {
+            return false;
+        }
+        if (configuration.containsOption(Option.DEFAULT_PATH_LEAF_TO_NULL) || configuration.containsOption(Option.REQUIRE_PROPERTIES)) {
+            return false;
+        }
+        PathToken token = ((CompiledPath) path).getRoot();
+        while (true) {
+            if (token instanceof PredicatePathToken) {
+                for (Predicate predicate : ((PredicatePathToken) token).getPredicates()) {
+                    if (!isIndependentOfRoot(predicate)) {
+                        return false;
+                    }
+                }
+            }
+            if (token.isLeaf()) {
+                return true;
+            }
+            token = token.next();
+        }
+    }
+
+    /**
+     * Evaluates the path against the given stream. The caller is responsible for closing the stream.
+     *
+     * @param path          path to evaluate, {@link #canStream(Path, Configuration)} must be true
+     * @param jsonStream    stream to read from
+     * @param charset       charset of the stream
+     * @param configuration configuration to use
+     * @return the evaluation context holding the results
+     */
+    public static EvaluationContext evaluate(Path path, InputStream jsonStream, String charset, Configuration configuration) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Evaluating path on stream: {}", path.toString());
+        }
+        return new PathTrie(path).evaluate(jsonStream, charset, configuration)[0];
+    }
+
+    private static boolean isIndependentOfRoot(Predicate predicate) {
+        // Only filters and criteria render their full expression, any other predicate might
+        // look at the root document without us knowing.
+        return (predicate instanceof Filter || predicate instanceof Criteria) && predicate.toString().indexOf('$') == -1;
+    }
+
+    private static boolean isJacksonAvailable() {
+        try {
+            Class.forName("com.fasterxml.jackson.core.JsonParser");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
@@ -29,13 +29,16 @@ public class WildcardPathToken extends PathToken {
     }
 
     @Override
-    public void evaluate(String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+    public void evaluate(PathSegment currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
         if (ctx.jsonProvider().isMap(model)) {
             for (String property : ctx.jsonProvider().getPropertyKeys(model)) {
+                if (ctx.isLimitReached()) {
+                    break;
+                }
                 handleObjectProperty(currentPath, model, ctx, asList(property));
             }
         } else if (ctx.jsonProvider().isArray(model)) {
-            for (int idx = 0; idx < ctx.jsonProvider().length(model); idx++) {
+            for (int idx = 0; idx < ctx.jsonProvider().length(model) && !ctx.isLimitReached(); idx++) {
                 try {
                     handleArrayIndex(idx, currentPath, model, ctx);
                 } catch (PathNotFoundException p){
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.JsonPathException;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A shared pool of daemon threads evaluating parts of a path in parallel, together with the calling thread.
+ * <p/>
+ * The pool is created on first use. Work submitted from a pool thread, e.g. by a filter nested in a parallel
+ * evaluation, should be done sequentially: see {@link #isWorkerThread()}.
+ */
+final class WorkerPool {
+
+    static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    private WorkerPool() {
+    }
+
+    static boolean isWorkerThread() {
+        return Thread.currentThread() instanceof Worker;
+    }
+
+    /**
+     * A unit of work that is identified by its index.
+     */
+    interface Task {
+        void run(int index);
+    }
+
+    /**
+     * Runs the task for every index from 0 until count on the pool and the calling thread. Returns when all
+     * indexes have been run, or throws the first failure, after which no more indexes are started. The
+     * failure is thrown once the indexes that were already running are done.
+     */
+    static void invokeAll(int count, Task task) {
+        Tasks tasks = new Tasks(count, task);
+        for (int i = 1; i < Math.min(PARALLELISM, count); i++) {
+            Pool.EXECUTOR.execute(tasks);
+        }
+        tasks.run();
+        tasks.awaitCompletion();
+    }
+
+    private static final class Tasks implements Runnable {
+        private final int count;
+        private final Task task;
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+        private Tasks(int count, Task task) {
+            this.count = count;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            int index;
+            while ((index = next.getAndIncrement()) < count) {
+                try {
+                    // the remaining indexes are skipped after a failure, but still completed
+                    if (failure.get() == null) {
+                        task.run(index);
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    if (completed.incrementAndGet() == count) {
+                        synchronized (this) {
+                            notifyAll();
+                        }
+                    }
+                }
+            }
+        }
+
+        private void awaitCompletion() {
+            boolean interrupted = false;
+            synchronized (this) {
+                while (completed.get() < count) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        // stops the indexes that are not started yet, the running ones still use the document
+                        failure.compareAndSet(null, e);
+                        interrupted = true;
+                    }
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            Throwable cause = failure.get();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            } else if (cause != null) {
+                throw new JsonPathException("Interrupted while evaluating path", cause);
+            }
+        }
+    }
+
+    private static final class Worker extends Thread {
+        private Worker(Runnable runnable, String name) {
+            super(runnable, name);
+            setDaemon(true);
+        }
+    }
+
+    private static final class Pool {
+        private static final AtomicInteger threadNumber = new AtomicInteger();
+
+        private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(PARALLELISM - 1, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                return new Worker(runnable, "json-path-worker-" + threadNumber.incrementAndGet());
+            }
+        });
+    }
+}
@@ -7,10 +7,10 @@ public interface Cache {
 
 	/**
      * Get the Cached JsonPath
-     * @param key cache key to lookup the JsonPath
+     * @param key cache key to lookup the JsonPath, the path string or a key of the path and its predicates
      * @return JsonPath
      */
-	public JsonPath get(String key);
+	public JsonPath get(Object key);
 	
 	/**
      * Add JsonPath to the cache
@@ -19,5 +19,5 @@ public interface Cache {
      * @return void
      * @throws InvalidJsonException
      */
-	public void put(String key, JsonPath value);
+	public void put(Object key, JsonPath value);
 }
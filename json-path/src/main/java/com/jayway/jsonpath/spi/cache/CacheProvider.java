@@ -2,10 +2,20 @@ package com.jayway.jsonpath.spi.cache;
 
 import com.jayway.jsonpath.JsonPathException;
 
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
 import static com.jayway.jsonpath.internal.Utils.notNull;
 
 public class CacheProvider {
-    private static Cache cache;
+    private static final String READ_CACHE_MBEAN = "com.jayway.jsonpath:type=CacheStats,name=read";
+    private static final String WRITE_CACHE_MBEAN = "com.jayway.jsonpath:type=CacheStats,name=write";
+    private static final String FILTER_CACHE_MBEAN = "com.jayway.jsonpath:type=CacheStats,name=filter";
+
+    private static volatile Cache cache;
+    private static volatile Cache writeCache;
     private static boolean cachingEnabled;
 
     public static void setCache(Cache cache){
@@ -32,8 +42,88 @@ public class CacheProvider {
     }
 
 
+    /**
+     * Sets the cache of the paths compiled by the write operations of a {@link com.jayway.jsonpath.DocumentContext}.
+     * Write paths are cached apart from read paths so that they can be sized separately.
+     *
+     * @param writeCache cache to use for write paths
+     */
+    public static void setWriteCache(Cache writeCache){
+        notNull(writeCache, "Cache may not be null");
+        synchronized (CacheProvider.class){
+            if(CacheProvider.writeCache != null){
+                throw new JsonPathException("Cache provider must be configured before cache is accessed.");
+            } else {
+                CacheProvider.writeCache = writeCache;
+            }
+        }
+    }
+
+    public static Cache getWriteCache() {
+        if(CacheProvider.writeCache == null){
+            synchronized (CacheProvider.class){
+                if(CacheProvider.writeCache == null){
+                    CacheProvider.writeCache = getDefaultCache();
+                }
+            }
+        }
+        return CacheProvider.writeCache;
+    }
+
+    /**
+     * @return the read cache, or null if it has neither been configured nor accessed yet
+     */
+    static Cache currentCache() {
+        return CacheProvider.cache;
+    }
+
+    /**
+     * @return the write cache, or null if it has neither been configured nor accessed yet
+     */
+    static Cache currentWriteCache() {
+        return CacheProvider.writeCache;
+    }
+
+    /**
+     * Discards the read and the write cache. The caches can be configured again, if they are not the defaults
+     * are created when accessed.
+     */
+    public static void reset(){
+        synchronized (CacheProvider.class){
+            CacheProvider.cache = null;
+            CacheProvider.writeCache = null;
+            cachingEnabled = false;
+        }
+    }
+
+    /**
+     * Registers MBeans exposing the {@link CacheStats} of the read and the write cache and of the cache of compiled filters
+     * in the platform MBean server, as <code>com.jayway.jsonpath:type=CacheStats,name=read</code>,
+     * <code>com.jayway.jsonpath:type=CacheStats,name=write</code> and <code>com.jayway.jsonpath:type=CacheStats,name=filter</code>.
+     * Registering more than once has no effect.
+     */
+    public static void registerMBeans(){
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        synchronized (CacheProvider.class){
+            try {
+                register(server, READ_CACHE_MBEAN, new CacheStatsBean(CacheStatsBean.Source.READ));
+                register(server, WRITE_CACHE_MBEAN, new CacheStatsBean(CacheStatsBean.Source.WRITE));
+                register(server, FILTER_CACHE_MBEAN, new CacheStatsBean(CacheStatsBean.Source.FILTER));
+            } catch (JMException e) {
+                throw new JsonPathException("Failed to register cache MBeans", e);
+            }
+        }
+    }
+
+    private static void register(MBeanServer server, String name, CacheStatsMXBean bean) throws JMException {
+        ObjectName objectName = new ObjectName(name);
+        if(!server.isRegistered(objectName)){
+            server.registerMBean(bean, objectName);
+        }
+    }
+
     private static Cache getDefaultCache(){
-        return new LRUCache(400);
+        return new ClockCache(400);
         //return new NOOPCache();
     }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.spi.cache;
+
+import com.jayway.jsonpath.internal.filter.FilterCompiler;
+
+/**
+ * Exposes the statistics of the cache currently configured in the {@link CacheProvider}, or of the cache of
+ * compiled filters. Caches that are not a {@link StatsCache}, or that have not been created yet, report no activity.
+ */
+class CacheStatsBean implements CacheStatsMXBean {
+
+    enum Source { READ, WRITE, FILTER }
+
+    private final Source source;
+
+    CacheStatsBean(Source source) {
+        this.source = source;
+    }
+
+    private CacheStats stats() {
+        if (source == Source.FILTER) {
+            return FilterCompiler.cacheStats();
+        }
+        // polling must not create the default cache, it could then no longer be configured
+        Cache cache = source == Source.WRITE ? CacheProvider.currentWriteCache() : CacheProvider.currentCache();
+        return cache instanceof StatsCache ? ((StatsCache) cache).stats() : CacheStats.EMPTY;
+    }
+
+    @Override
+    public long getHitCount() {
+        return stats().hitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return stats().missCount();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return stats().evictionCount();
+    }
+
+    @Override
+    public long getLoadCount() {
+        return stats().loadCount();
+    }
+
+    @Override
+    public long getTotalLoadTime() {
+        return stats().totalLoadTime();
+    }
+
+    @Override
+    public double getHitRate() {
+        return stats().hitRate();
+    }
+
+    @Override
+    public double getAverageLoadPenalty() {
+        return stats().averageLoadPenalty();
+    }
+}
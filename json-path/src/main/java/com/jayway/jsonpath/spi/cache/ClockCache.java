@@ -0,0 +1,67 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.spi.cache;
+
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.internal.ClockMap;
+
+/**
+ * A bounded cache evicting with the CLOCK (second chance) policy, see {@link ClockMap}. Lookups are lock free,
+ * only adding entries takes a lock.
+ */
+public class ClockCache implements StatsCache {
+
+    private final ClockMap<JsonPath> map;
+
+    public ClockCache(int limit) {
+        this.map = new ClockMap<JsonPath>(limit);
+    }
+
+    @Override
+    public JsonPath get(Object key) {
+        return map.get(key);
+    }
+
+    @Override
+    public void put(Object key, JsonPath value) {
+        map.put(key, value);
+    }
+
+    @Override
+    public void recordLoad(long loadTime) {
+        map.recordLoad(loadTime);
+    }
+
+    @Override
+    public CacheStats stats() {
+        return map.stats();
+    }
+
+    public JsonPath getSilent(Object key) {
+        return map.getSilent(key);
+    }
+
+    public void remove(Object key) {
+        map.remove(key);
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public String toString() {
+        return map.toString();
+    }
+}
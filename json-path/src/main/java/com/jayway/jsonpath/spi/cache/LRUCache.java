@@ -22,19 +22,20 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
 
-public class LRUCache implements Cache {
+public class LRUCache implements StatsCache {
 
     private final ReentrantLock lock = new ReentrantLock();
+    private final StatsCounter statsCounter = new StatsCounter();
 
-    private final Map<String, JsonPath> map = new ConcurrentHashMap<String, JsonPath>();
-    private final Deque<String> queue = new LinkedList<String>();
+    private final Map<Object, JsonPath> map = new ConcurrentHashMap<Object, JsonPath>();
+    private final Deque<Object> queue = new LinkedList<Object>();
     private final int limit;
 
     public LRUCache(int limit) {
         this.limit = limit;
     }
 
-    public void put(String key, JsonPath value) {
+    public void put(Object key, JsonPath value) {
         JsonPath oldValue = map.put(key, value);
         if (oldValue != null) {
             removeThenAddKey(key);
@@ -43,18 +44,22 @@ public class LRUCache implements Cache {
         }
         if (map.size() > limit) {
             map.remove(removeLast());
+            statsCounter.recordEviction();
         }
     }
 
-    public JsonPath get(String key) {
+    public JsonPath get(Object key) {
         JsonPath jsonPath = map.get(key);
         if(jsonPath != null){
+            statsCounter.recordHit();
             removeThenAddKey(key);
+        } else {
+            statsCounter.recordMiss();
         }
         return jsonPath;
     }
 
-    private void addKey(String key) {
+    private void addKey(Object key) {
         lock.lock();
         try {
             queue.addFirst(key);
@@ -63,17 +68,17 @@ public class LRUCache implements Cache {
         }
     }
 
-    private String removeLast() {
+    private Object removeLast() {
         lock.lock();
         try {
-            final String removedKey = queue.removeLast();
+            final Object removedKey = queue.removeLast();
             return removedKey;
         } finally {
             lock.unlock();
         }
     }
 
-    private void removeThenAddKey(String key) {
+    private void removeThenAddKey(Object key) {
         lock.lock();
         try {
             queue.removeFirstOccurrence(key);
@@ -84,7 +89,7 @@ public class LRUCache implements Cache {
 
     }
 
-    private void removeFirstOccurrence(String key) {
+    private void removeFirstOccurrence(Object key) {
         lock.lock();
         try {
             queue.removeFirstOccurrence(key);
@@ -93,11 +98,19 @@ public class LRUCache implements Cache {
         }
     }
 
-    public JsonPath getSilent(String key) {
+    public void recordLoad(long loadTime) {
+        statsCounter.recordLoad(loadTime);
+    }
+
+    public CacheStats stats() {
+        return statsCounter.snapshot();
+    }
+
+    public JsonPath getSilent(Object key) {
         return map.get(key);
     }
 
-    public void remove(String key) {
+    public void remove(Object key) {
         removeFirstOccurrence(key);
         map.remove(key);
     }
@@ -5,11 +5,11 @@ import com.jayway.jsonpath.JsonPath;
 public class NOOPCache implements Cache {
 
     @Override
-    public JsonPath get(String key) {
+    public JsonPath get(Object key) {
         return null;
     }
 
     @Override
-    public void put(String key, JsonPath value) {
+    public void put(Object key, JsonPath value) {
     }
 }
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.spi.cache;
+
+/**
+ * A {@link Cache} recording statistics of its use.
+ */
+public interface StatsCache extends Cache {
+
+    /**
+     * Records the compilation of a path that was not found in the cache.
+     *
+     * @param loadTime time spent compiling the path, in nanoseconds
+     */
+    void recordLoad(long loadTime);
+
+    /**
+     * @return a snapshot of the statistics recorded so far
+     */
+    CacheStats stats();
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2011 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.jayway.jsonpath.spi.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread safe counters backing {@link StatsCache#stats()}.
+ * <p/>
+ * Hits and misses are counted on every lookup. To not make the counters a new contention point they are
+ * striped: a thread increments one of several cells, each on its own cache line, and a snapshot sums them.
+ */
+public final class StatsCounter {
+
+    private final Striped hits = new Striped();
+    private final Striped misses = new Striped();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong totalLoadTime = new AtomicLong();
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public void recordEviction() {
+        evictions.incrementAndGet();
+    }
+
+    public void recordLoad(long loadTime) {
+        loads.incrementAndGet();
+        totalLoadTime.addAndGet(loadTime);
+    }
+
+    public CacheStats snapshot() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.get(), loads.get(), totalLoadTime.get());
+    }
+
+    private static final class Striped {
+        // 16 longs apart keeps two cells out of the same (or an adjacent, prefetched) cache line
+        private static final int PADDING = 16;
+        private static final int STRIPES = stripes();
+
+        private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PADDING);
+
+        private static int stripes() {
+            int stripes = 1;
+            while (stripes < Runtime.getRuntime().availableProcessors() * 2 && stripes < 64) {
+                stripes <<= 1;
+            }
+            return stripes;
+        }
+
+        void increment() {
+            int stripe = (int) (Thread.currentThread().getId() & (STRIPES - 1));
+            cells.incrementAndGet(stripe * PADDING);
+        }
+
+        long sum() {
+            long sum = 0;
+            for (int i = 0; i < STRIPES; i++) {
+                sum += cells.get(i * PADDING);
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.jayway.jsonpath;
+
+import com.jayway.jsonpath.spi.cache.Cache;
+import com.jayway.jsonpath.spi.cache.CacheProvider;
+import com.jayway.jsonpath.spi.cache.ClockCache;
+import com.jayway.jsonpath.spi.cache.NOOPCache;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class CacheProviderTest extends BaseTest {
+
+    @Test
+    public void configuration_cache_is_used_instead_of_global_cache() {
+        ClockCache cache = new ClockCache(10);
+        Configuration conf = Configuration.builder().cache(cache).build();
+        String path = "$..unique" + System.nanoTime();
+
+        JsonPath.using(conf).parse(JSON_DOCUMENT).read(path);
+        JsonPath.using(conf).parse(JSON_DOCUMENT).set("$.store.bicycle.color", "blue");
+
+        assertThat(cache.getSilent(path)).isNotNull();
+        assertThat(cache.getSilent("$.store.bicycle.color")).isNotNull();
+        assertThat(CacheProvider.getCache().get(path)).isNull();
+    }
+
+    @Test
+    public void configuration_cache_is_kept_by_derived_configurations() {
+        Cache cache = new NOOPCache();
+        Configuration conf = Configuration.builder().cache(cache).build();
+
+        assertThat(conf.addOptions(Option.SUPPRESS_EXCEPTIONS).cache()).isSameAs(cache);
+        assertThat(conf.jsonProvider(conf.jsonProvider()).cache()).isSameAs(cache);
+        assertThat(conf.setEvaluationListeners().cache()).isSameAs(cache);
+        assertThat(conf.cache(null).cache()).isNull();
+        assertThat(Configuration.defaultConfiguration().cache()).isNull();
+    }
+
+    @Test
+    public void cache_can_be_configured_again_after_reset() {
+        CacheProvider.getCache();
+        try {
+            CacheProvider.setCache(new ClockCache(10));
+            fail("Should throw " + JsonPathException.class.getName());
+        } catch (JsonPathException e) {
+        }
+
+        Cache cache = new ClockCache(10);
+        CacheProvider.reset();
+        try {
+            CacheProvider.setCache(cache);
+
+            assertThat(CacheProvider.getCache()).isSameAs(cache);
+        } finally {
+            CacheProvider.reset();
+        }
+        assertThat(CacheProvider.getCache()).isNotSameAs(cache);
+    }
+}
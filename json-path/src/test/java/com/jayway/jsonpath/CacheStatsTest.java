@@ -0,0 +1,67 @@
+package com.jayway.jsonpath;
+
+import com.jayway.jsonpath.spi.cache.CacheProvider;
+import com.jayway.jsonpath.spi.cache.CacheStats;
+import com.jayway.jsonpath.spi.cache.ClockCache;
+import com.jayway.jsonpath.spi.cache.StatsCache;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CacheStatsTest extends BaseTest {
+
+    @Test
+    public void reads_record_hits_misses_and_loads() {
+        StatsCache cache = (StatsCache) CacheProvider.getCache();
+        String path = "$..unique" + System.nanoTime();
+        CacheStats before = cache.stats();
+
+        JsonPath.parse(JSON_DOCUMENT).read(path);
+        JsonPath.parse(JSON_DOCUMENT).read(path);
+
+        CacheStats after = cache.stats();
+        assertThat(after.missCount() - before.missCount()).isGreaterThanOrEqualTo(1);
+        assertThat(after.hitCount() - before.hitCount()).isGreaterThanOrEqualTo(1);
+        assertThat(after.loadCount() - before.loadCount()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    public void stats_are_exposed_as_mbeans() throws Exception {
+        CacheProvider.registerMBeans();
+        CacheProvider.registerMBeans();
+
+        JsonPath.parse(JSON_DOCUMENT).read("$.store.bicycle.color");
+        JsonPath.parse(JSON_DOCUMENT).read("$.store.bicycle.color");
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        assertThat((Long) server.getAttribute(new ObjectName("com.jayway.jsonpath:type=CacheStats,name=read"), "HitCount")).isGreaterThan(0);
+        assertThat(server.isRegistered(new ObjectName("com.jayway.jsonpath:type=CacheStats,name=write"))).isTrue();
+    }
+
+    @Test
+    public void polling_mbeans_does_not_create_the_caches() throws Exception {
+        CacheProvider.registerMBeans();
+        CacheProvider.reset();
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            assertThat((Long) server.getAttribute(new ObjectName("com.jayway.jsonpath:type=CacheStats,name=read"), "MissCount")).isEqualTo(0);
+            assertThat((Long) server.getAttribute(new ObjectName("com.jayway.jsonpath:type=CacheStats,name=write"), "MissCount")).isEqualTo(0);
+
+            CacheProvider.setCache(new ClockCache(10));
+            CacheProvider.setWriteCache(new ClockCache(10));
+        } finally {
+            CacheProvider.reset();
+        }
+    }
+
+    @Test
+    public void rates_of_unused_cache() {
+        assertThat(CacheStats.EMPTY.hitRate()).isEqualTo(1.0);
+        assertThat(CacheStats.EMPTY.missRate()).isEqualTo(0.0);
+        assertThat(CacheStats.EMPTY.averageLoadPenalty()).isEqualTo(0.0);
+    }
+}
@@ -0,0 +1,126 @@
+package com.jayway.jsonpath;
+
+import com.jayway.jsonpath.spi.cache.CacheStats;
+import com.jayway.jsonpath.spi.cache.ClockCache;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClockCacheTest {
+
+    private static final JsonPath DUMMY = JsonPath.compile("$");
+
+    @Test
+    public void cache_is_bounded() {
+        ClockCache cache = new ClockCache(200);
+        for (int i = 0; i < 1000; ++i) {
+            String key = String.valueOf(i);
+            cache.get(key);
+            cache.put(key, DUMMY);
+        }
+        assertThat(cache.size()).isEqualTo(200);
+    }
+
+    @Test
+    public void referenced_entries_get_a_second_chance() {
+        ClockCache cache = new ClockCache(3);
+        cache.put("1", DUMMY);
+        cache.put("2", DUMMY);
+        cache.put("3", DUMMY);
+
+        cache.get("1");
+        cache.get("3");
+        cache.put("4", DUMMY);
+
+        assertThat(cache.getSilent("1")).isNotNull();
+        assertThat(cache.getSilent("2")).isNull();
+        assertThat(cache.getSilent("3")).isNotNull();
+        assertThat(cache.getSilent("4")).isNotNull();
+    }
+
+    @Test
+    public void put_replaces_value_of_existing_key() {
+        ClockCache cache = new ClockCache(2);
+        JsonPath other = JsonPath.compile("$.a");
+
+        cache.put("1", DUMMY);
+        cache.put("1", other);
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.get("1")).isSameAs(other);
+    }
+
+    @Test
+    public void removed_entries_are_reclaimed() {
+        ClockCache cache = new ClockCache(2);
+        cache.put("1", DUMMY);
+        cache.put("2", DUMMY);
+        cache.remove("1");
+
+        cache.put("3", DUMMY);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getSilent("1")).isNull();
+        assertThat(cache.getSilent("2")).isNotNull();
+        assertThat(cache.getSilent("3")).isNotNull();
+    }
+
+    @Test
+    public void hits_misses_and_evictions_are_counted() {
+        ClockCache cache = new ClockCache(2);
+        cache.put("1", DUMMY);
+        cache.put("2", DUMMY);
+        cache.get("1");
+        cache.get("3");
+        cache.put("3", DUMMY);
+        cache.recordLoad(100);
+
+        CacheStats stats = cache.stats();
+
+        assertThat(stats.hitCount()).isEqualTo(1);
+        assertThat(stats.missCount()).isEqualTo(1);
+        assertThat(stats.evictionCount()).isEqualTo(1);
+        assertThat(stats.loadCount()).isEqualTo(1);
+        assertThat(stats.totalLoadTime()).isEqualTo(100);
+        assertThat(stats.hitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    public void concurrent_access_keeps_cache_bounded() throws Exception {
+        final ClockCache cache = new ClockCache(50);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            final int offset = t * 10;
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for (int i = 0; i < 10000; i++) {
+                            String key = String.valueOf((i + offset) % 200);
+                            if (cache.get(key) == null) {
+                                cache.put(key, DUMMY);
+                            }
+                        }
+                    } catch (Throwable e) {
+                        failure.set(e);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(failure.get()).isNull();
+        assertThat(cache.size()).isEqualTo(50);
+    }
+}
@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.jayway.jsonpath.JsonPath.parse;
 import static com.jayway.jsonpath.JsonPath.using;
@@ -304,4 +305,104 @@ public class DeepScanTest extends BaseTest {
         assertThat(result).hasSize(1);
     }
 
+    private static Object stores() {
+        StringBuilder json = new StringBuilder("{\"stores\" : [");
+        for (int i = 0; i < 200; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"name\" : \"store-").append(i).append("\", \"book\" : [")
+                    .append("{\"price\" : ").append(i).append(", \"tags\" : [\"a\", {\"price\" : 1}]},")
+                    .append("{\"title\" : \"t").append(i).append("\"}]}");
+        }
+        json.append("], \"price\" : 0}");
+        return Configuration.defaultConfiguration().jsonProvider().parse(json.toString());
+    }
+
+    @Test
+    public void parallel_scans_return_results_in_document_order() {
+        Object document = stores();
+        Configuration conf = Configuration.defaultConfiguration();
+        Configuration parallel = conf.addOptions(Option.PARALLEL_SCAN);
+
+        for (String path : new String[]{"$..price", "$..book[0].tags", "$..[?(@.price > 100)].price", "$..*", "$.stores..title"}) {
+            assertThat(using(parallel).parse(document).read(path, List.class)).as(path)
+                    .isEqualTo(using(conf).parse(document).read(path, List.class));
+            assertThat(using(parallel.addOptions(Option.AS_PATH_LIST)).parse(document).read(path, List.class)).as(path)
+                    .isEqualTo(using(conf.addOptions(Option.AS_PATH_LIST)).parse(document).read(path, List.class));
+        }
+
+        final List<Integer> seen = new ArrayList<Integer>();
+        EvaluationListener abortAfterThree = new EvaluationListener() {
+            @Override
+            public EvaluationContinuation resultFound(FoundResult found) {
+                seen.add(found.index());
+                return seen.size() == 3 ? EvaluationContinuation.ABORT : EvaluationContinuation.CONTINUE;
+            }
+        };
+        List<Object> prices = using(parallel).parse(document).withListeners(abortAfterThree).read("$..price", List.class);
+
+        assertThat(prices).containsExactly(0, 0, 1);
+        assertThat(seen).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    public void limited_parallel_scans_stop_when_the_results_before_them_reach_the_limit() {
+        Object document = stores();
+        Configuration conf = Configuration.defaultConfiguration();
+        final AtomicInteger evaluated = new AtomicInteger();
+        Filter counting = Filter.filter(new Predicate() {
+            @Override
+            public boolean apply(PredicateContext ctx) {
+                evaluated.incrementAndGet();
+                return ctx.configuration().jsonProvider().isMap(ctx.item());
+            }
+        });
+        using(conf).parse(document).read("$..[?].price", List.class, counting);
+        int evaluatedByAll = evaluated.getAndSet(0);
+
+        List<Object> prices = using(conf.addOptions(Option.PARALLEL_SCAN)).parse(document).limit(3).read("$..[?].price", List.class, counting);
+
+        assertThat(prices).isEqualTo(using(conf).parse(document).limit(3).read("$..[?].price", List.class, counting));
+        assertThat(evaluated.get()).isLessThan(evaluatedByAll);
+    }
+
+    @Test
+    public void indexed_deep_scans_skip_nothing_that_matches() {
+        Configuration indexed = JSON_SMART_CONFIGURATION.addOptions(Option.DEEP_SCAN_INDEX);
+        DocumentContext context = using(indexed).parse(JSON_DOCUMENT);
+
+        for (String path : new String[]{"$..isbn", "$..author", "$..['isbn', 'title']", "$..missing", "$.store..price", "$..book[?(@.isbn)].title", "$..*"}) {
+            assertThat(context.read(path, List.class)).as(path)
+                    .isEqualTo(using(JSON_SMART_CONFIGURATION).parse(JSON_DOCUMENT).read(path, List.class));
+        }
+    }
+
+    @Test
+    public void indexed_deep_scans_see_modifications_made_through_the_context() {
+        DocumentContext context = using(JSON_SMART_CONFIGURATION.addOptions(Option.DEEP_SCAN_INDEX)).parse(JSON_DOCUMENT);
+
+        assertThat(context.read("$..isbn", List.class)).hasSize(2);
+
+        context.put("$.store.bicycle", "isbn", "0-000-00000-0");
+
+        assertThat(context.read("$..isbn", List.class)).containsExactly("0-553-21311-3", "0-395-19395-8", "0-000-00000-0");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void filters_of_parallel_scans_use_the_index_of_the_document() {
+        Object document = stores();
+        String path = "$..[?(@.name && @..isbn contains '0-000-00000-0')].name";
+        Configuration indexed = Configuration.defaultConfiguration().addOptions(Option.DEEP_SCAN_INDEX);
+        DocumentContext sequential = using(indexed).parse(document);
+        DocumentContext parallel = using(indexed.addOptions(Option.PARALLEL_SCAN)).parse(document);
+        assertThat(sequential.read(path, List.class)).isEmpty();
+        assertThat(parallel.read(path, List.class)).isEmpty();
+
+        // not made through the contexts, the indexes they built do not see it
+        Map<String, Object> store = (Map<String, Object>) ((List<Object>) ((Map<String, Object>) document).get("stores")).get(150);
+        store.put("isbn", "0-000-00000-0");
+
+        assertThat(sequential.read(path, List.class)).isEmpty();
+        assertThat(parallel.read(path, List.class)).isEmpty();
+        assertThat(using(indexed).parse(document).read(path, List.class)).containsExactly("store-150");
+    }
 }
@@ -1,5 +1,7 @@
 package com.jayway.jsonpath;
 
+import com.jayway.jsonpath.internal.filter.FilterCompiler;
+import com.jayway.jsonpath.spi.cache.CacheStats;
 import org.junit.Test;
 
 import static com.jayway.jsonpath.internal.filter.FilterCompiler.compile;
@@ -75,6 +77,28 @@ public class FilterCompilerTest {
         assertInvalidPathException("[?(@.i == 5 @.i == 8)]");
     }
 
+    @Test
+    public void compiled_filters_are_cached_by_normalized_filter_string() {
+        CacheStats before = FilterCompiler.cacheStats();
+
+        Filter filter = compile("[?(@.cached == 'a  b')]");
+
+        assertThat(compile("[?(@.cached == 'a  b')]")).isSameAs(filter);
+        assertThat(compile(" [?(@.cached  ==   'a  b')] ")).isSameAs(filter);
+        assertThat(Filter.parse("[?(@.cached == 'a  b')]")).isSameAs(filter);
+        assertThat(compile("[?(@.cached == 'a b')]")).isNotSameAs(filter);
+
+        CacheStats stats = FilterCompiler.cacheStats();
+        assertThat(stats.hitCount() - before.hitCount()).isEqualTo(3);
+        assertThat(stats.missCount() - before.missCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void blanks_in_literals_are_significant() {
+        assertThat(compile("[?(@.a == \"p \\\"  q\")]")).isSameAs(compile("[?(@.a  ==  \"p \\\"  q\")]"));
+        assertThat(compile("[?(@.a == \"p \\\"  q\")]")).isNotSameAs(compile("[?(@.a == \"p \\\" q\")]"));
+        assertThat(compile("[?(@.a =~ /x  y/)]")).isNotSameAs(compile("[?(@.a =~ /x y/)]"));
+    }
 
     private void assertInvalidPathException(String filter){
         try {
@@ -0,0 +1,176 @@
+package com.jayway.jsonpath;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.jayway.jsonpath.JsonPath.using;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IterateTest extends BaseTest {
+
+    static final String[] PATHS = {
+            "$",
+            "$.store.book",
+            "$.store.book[1].author",
+            "$.store.book[*].author",
+            "$.store.book[*].isbn",
+            "$.store.book[1,3].title",
+            "$.store.book[1:].title",
+            "$.store.book[:2].title",
+            "$.store.book[-2:].title",
+            "$.store.book[:-1].title",
+            "$.store.book[1:3].title",
+            "$.store.book[10].title",
+            "$.store.*",
+            "$.store.bicycle['color','display-price']",
+            "$.store.book[*]['author','title']",
+            "$..display-price",
+            "$..book[0].title",
+            "$..book[*]",
+            "$..['author','title']",
+            "$..*",
+            "$..[?(@.isbn)].title",
+            "$.store.book[?(@.isbn)].title",
+            "$.store.book[?(@.display-price < $.max-price)].title",
+            "$.store.book.length()",
+            "$.missing",
+            "$.missing.title",
+            "$.store.book.title",
+            "$.store.book[*].missing",
+            "$.string-property.foo",
+            "$.null-property[0]",
+            "$.store[?(@.bicycle)].bicycle.color",
+            "$.store.bicycle[?]"
+    };
+
+    static final Option[] OPTIONS = {
+            Option.DEFAULT_PATH_LEAF_TO_NULL,
+            Option.REQUIRE_PROPERTIES,
+            Option.SUPPRESS_EXCEPTIONS,
+            Option.AS_PATH_LIST
+    };
+
+    @Test
+    public void iteration_returns_same_results_as_read() {
+        for (Configuration conf : Configurations.configurations()) {
+            Object document = conf.jsonProvider().parse(JSON_DOCUMENT);
+            List<Configuration> configurations = new ArrayList<Configuration>();
+            configurations.add(conf);
+            for (Option option : OPTIONS) {
+                configurations.add(conf.addOptions(option));
+            }
+
+            for (Configuration configuration : configurations) {
+                for (String path : PATHS) {
+                    JsonPath jsonPath = path.endsWith("[?]") ? JsonPath.compile(path, Filter.filter(Criteria.where("color").exists(true))) : JsonPath.compile(path);
+                    String description = path + " " + configuration.getOptions() + " " + configuration.jsonProvider().getClass().getSimpleName();
+                    String expected = read(jsonPath, document, configuration);
+                    if (!jsonPath.isDefinite() && expected.equals(PathNotFoundException.class.getName())
+                            && configuration.containsOption(Option.AS_PATH_LIST)) {
+                        // reading the paths fails when there are none, iterating them does not
+                        expected = "[]";
+                    }
+                    // not all providers implement equals, compare the rendered results
+                    assertThat(iterated(jsonPath, document, configuration)).as(description).isEqualTo(expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void iteration_is_lazy() {
+        final AtomicInteger evaluated = new AtomicInteger();
+        Predicate counting = new Predicate() {
+            @Override
+            public boolean apply(PredicateContext ctx) {
+                evaluated.incrementAndGet();
+                return true;
+            }
+        };
+        Iterator<Object> books = using(JSON_SMART_CONFIGURATION).parse(JSON_DOCUMENT).iterate("$.store.book[?]", counting);
+
+        assertThat(evaluated.get()).isEqualTo(0);
+        assertThat(books.hasNext()).isTrue();
+        assertThat(evaluated.get()).isEqualTo(1);
+        books.next();
+        books.next();
+        assertThat(evaluated.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void iteration_is_limited() {
+        Iterator<String> titles = using(JSON_SMART_CONFIGURATION).parse(JSON_DOCUMENT).limit(2).iterate("$..title");
+
+        assertThat(titles.next()).isEqualTo("Sayings of the Century");
+        assertThat(titles.next()).isEqualTo("Sword of Honour");
+        assertThat(titles.hasNext()).isFalse();
+    }
+
+    @Test
+    public void deeply_nested_documents_can_be_iterated() {
+        Map<String, Object> document = new HashMap<String, Object>();
+        Map<String, Object> current = document;
+        for (int i = 0; i < 20000; i++) {
+            Map<String, Object> nested = new HashMap<String, Object>();
+            current.put("a", nested);
+            current = nested;
+        }
+        current.put("b", "bottom");
+
+        Iterator<Object> iterator = JsonPath.compile("$..b").iterate(document, Configuration.defaultConfiguration());
+
+        assertThat(iterator.next()).isEqualTo("bottom");
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    public void listeners_can_abort_iteration() {
+        EvaluationListener firstOnly = new EvaluationListener() {
+            @Override
+            public EvaluationContinuation resultFound(FoundResult found) {
+                return EvaluationContinuation.ABORT;
+            }
+        };
+        Iterator<String> titles = using(JSON_SMART_CONFIGURATION).parse(JSON_DOCUMENT).withListeners(firstOnly).iterate("$..title");
+
+        assertThat(titles.next()).isEqualTo("Sayings of the Century");
+        assertThat(titles.hasNext()).isFalse();
+    }
+
+    private static String read(JsonPath path, Object document, Configuration configuration) {
+        try {
+            return String.valueOf((Object) path.read(document, configuration));
+        } catch (RuntimeException e) {
+            return e.getClass().getName();
+        }
+    }
+
+    private static String iterated(JsonPath path, Object document, Configuration configuration) {
+        List<Object> results = new ArrayList<Object>();
+        try {
+            for (Iterator<Object> iterator = path.iterate(document, configuration); iterator.hasNext(); ) {
+                results.add(iterator.next());
+            }
+        } catch (RuntimeException e) {
+            return e.getClass().getName();
+        }
+        if (path.isDefinite() && !configuration.containsOption(Option.AS_PATH_LIST) && results.isEmpty()) {
+            return "null";
+        }
+        Object array = configuration.jsonProvider().createArray();
+        for (int i = 0; i < results.size(); i++) {
+            configuration.jsonProvider().setArrayIndex(array, i, results.get(i));
+        }
+        if (path.isDefinite() && !configuration.containsOption(Option.AS_PATH_LIST)) {
+            // read returns the value as it is held by the array of results
+            return String.valueOf(configuration.jsonProvider().getArrayIndex(array, 0));
+        }
+        return String.valueOf(array);
+    }
+}
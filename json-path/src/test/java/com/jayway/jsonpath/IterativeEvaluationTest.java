@@ -0,0 +1,107 @@
+package com.jayway.jsonpath;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.jayway.jsonpath.JsonPath.using;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IterativeEvaluationTest extends BaseTest {
+
+    private static final String[] UPDATED_PATHS = {
+            "$",
+            "$.store.book[*].author",
+            "$..display-price",
+            "$.store.book[?(@.isbn)].title",
+            "$..book[?(@.isbn)]",
+            "$.store.book[1:3].category",
+            "$.store.book[0,2]",
+            "$.store.bicycle['color','display-price']",
+            "$..*"
+    };
+
+    @Test
+    public void iterative_evaluation_reads_like_recursive_evaluation() {
+        for (Configuration conf : Configurations.configurations()) {
+            Object document = conf.jsonProvider().parse(JSON_DOCUMENT);
+            List<Configuration> configurations = new ArrayList<Configuration>();
+            configurations.add(conf);
+            for (Option option : IterateTest.OPTIONS) {
+                configurations.add(conf.addOptions(option));
+            }
+
+            for (Configuration configuration : configurations) {
+                Configuration iterative = configuration.addOptions(Option.ITERATIVE_EVALUATION);
+                for (String path : IterateTest.PATHS) {
+                    JsonPath jsonPath = path.endsWith("[?]") ? JsonPath.compile(path, Filter.filter(Criteria.where("color").exists(true))) : JsonPath.compile(path);
+                    String description = path + " " + iterative.getOptions() + " " + conf.jsonProvider().getClass().getSimpleName();
+                    // not all providers implement equals, compare the rendered results
+                    assertThat(read(jsonPath, document, iterative)).as(description).isEqualTo(read(jsonPath, document, configuration));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void iterative_evaluation_updates_like_recursive_evaluation() {
+        Configuration iterative = JSON_SMART_CONFIGURATION.addOptions(Option.ITERATIVE_EVALUATION);
+
+        for (String path : UPDATED_PATHS) {
+            assertThat(set(path, iterative)).as(path).isEqualTo(set(path, JSON_SMART_CONFIGURATION));
+            assertThat(delete(path, iterative)).as(path).isEqualTo(delete(path, JSON_SMART_CONFIGURATION));
+        }
+    }
+
+    @Test
+    public void iterative_evaluation_stops_at_the_limit() {
+        Configuration iterative = JSON_SMART_CONFIGURATION.addOptions(Option.ITERATIVE_EVALUATION);
+
+        assertThat(using(iterative).parse(JSON_DOCUMENT).limit(2).read("$..title", List.class))
+                .containsExactly("Sayings of the Century", "Sword of Honour");
+        assertThat(using(iterative).parse(JSON_DOCUMENT).count("$..*")).isEqualTo(using(JSON_SMART_CONFIGURATION).parse(JSON_DOCUMENT).count("$..*"));
+    }
+
+    @Test
+    public void deeply_nested_documents_can_be_evaluated() {
+        Map<String, Object> document = new HashMap<String, Object>();
+        Map<String, Object> current = document;
+        for (int i = 0; i < 20000; i++) {
+            Map<String, Object> nested = new HashMap<String, Object>();
+            current.put("a", nested);
+            current = nested;
+        }
+        current.put("b", "bottom");
+        Configuration iterative = Configuration.defaultConfiguration().addOptions(Option.ITERATIVE_EVALUATION);
+
+        assertThat(JsonPath.compile("$..b").<List<String>>read(document, iterative)).containsExactly("bottom");
+        assertThat(JsonPath.compile("$..a").count(document, iterative)).isEqualTo(20000);
+    }
+
+    private static String set(String path, Configuration configuration) {
+        try {
+            return using(configuration).parse(JSON_DOCUMENT).set(path, 1).jsonString();
+        } catch (RuntimeException e) {
+            return e.getClass().getName();
+        }
+    }
+
+    private static String delete(String path, Configuration configuration) {
+        try {
+            return using(configuration).parse(JSON_DOCUMENT).delete(path).jsonString();
+        } catch (RuntimeException e) {
+            return e.getClass().getName();
+        }
+    }
+
+    private static String read(JsonPath path, Object document, Configuration configuration) {
+        try {
+            return String.valueOf((Object) path.read(document, configuration));
+        } catch (RuntimeException e) {
+            return e.getClass().getName();
+        }
+    }
+}
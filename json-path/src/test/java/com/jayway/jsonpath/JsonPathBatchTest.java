@@ -0,0 +1,203 @@
+package com.jayway.jsonpath;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.UnsupportedEncodingException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class JsonPathBatchTest extends BaseTest {
+
+    private static final String[] PATHS = {
+            "$",
+            "$.store",
+            "$.store.book",
+            "$.store.book[1].author",
+            "$.store.book[*].author",
+            "$.store.book[*].title",
+            "$.store.book[*].isbn",
+            "$.store.book[1,3].title",
+            "$.store.book[3,1].title",
+            "$.store.book[1:].title",
+            "$.store.book[:2].title",
+            "$.store.book[-2:].title",
+            "$.store.book[:-1].title",
+            "$.store.book[1:3].title",
+            "$.store.book[10].title",
+            "$.store.*",
+            "$.store.bicycle['color','display-price']",
+            "$.store.book[*]['author','title']",
+            "$..display-price",
+            "$..book[0].title",
+            "$..*",
+            "$.store.book[?(@.isbn)].title",
+            "$.store.book[?(@.display-price < $.max-price)].title",
+            "$.store.book.length()",
+            "$.missing",
+            "$.missing.title",
+            "$.store.book.title",
+            "$.string-property.foo",
+            "$.null-property[0]",
+            "$.store[?(@.bicycle)].bicycle.color",
+            "@.foo"
+    };
+
+    @Test
+    public void batch_read_returns_same_results_as_single_reads() {
+        for (Configuration conf : Configurations.configurations()) {
+            Configuration suppressing = conf.addOptions(Option.SUPPRESS_EXCEPTIONS);
+            Object document = conf.jsonProvider().parse(JSON_DOCUMENT);
+
+            Map<String, Object> results = JsonPath.compileBatch(PATHS).read(document, suppressing);
+
+            assertThat(results.keySet()).containsExactly(PATHS);
+            for (String path : PATHS) {
+                Object expected = JsonPath.compile(path).read(document, suppressing);
+                // not all providers implement equals, compare the rendered results
+                assertThat(String.valueOf(results.get(path))).as(path).isEqualTo(String.valueOf(expected));
+            }
+        }
+    }
+
+    @Test
+    public void batch_read_throws_like_single_read() {
+        Object document = Configuration.defaultConfiguration().jsonProvider().parse(JSON_DOCUMENT);
+
+        for (String path : PATHS) {
+            Class<? extends Exception> expected = null;
+            try {
+                JsonPath.compile(path).read(document);
+            } catch (JsonPathException e) {
+                expected = e.getClass();
+            }
+            try {
+                JsonPath.compileBatch("$.store.book[*].author", path).read(document);
+                assertThat(expected).as(path).isNull();
+            } catch (JsonPathException e) {
+                assertThat(e.getClass()).as(path).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    public void failing_path_does_not_affect_other_paths() {
+        Configuration conf = Configuration.builder().options(Option.SUPPRESS_EXCEPTIONS).build();
+
+        Map<String, Object> results = JsonPath.compileBatch("$.store.book.title", "$.store.book[0].title").read(JSON_DOCUMENT, conf);
+
+        assertThat(results.get("$.store.book.title")).isNull();
+        assertThat(results.get("$.store.book[0].title")).isEqualTo("Sayings of the Century");
+    }
+
+    @Test
+    public void shared_filter_is_applied_once_per_element() {
+        final int[] applied = {0};
+        Predicate fiction = new Predicate() {
+            @Override
+            public boolean apply(PredicateContext ctx) {
+                applied[0]++;
+                return "fiction".equals(ctx.item(Map.class).get("category"));
+            }
+        };
+
+        JsonPathBatch batch = JsonPathBatch.of(
+                JsonPath.compile("$.store.book[?].author", fiction),
+                JsonPath.compile("$.store.book[?].title", fiction));
+        Map<String, Object> results = batch.read(JSON_DOCUMENT, Configuration.defaultConfiguration());
+
+        assertThat(applied[0]).isEqualTo(4);
+        assertThat(results.get("$['store']['book'][?]['author']")).asList().containsExactly("Evelyn Waugh", "Herman Melville", "J. R. R. Tolkien");
+        assertThat(results.get("$['store']['book'][?]['title']")).asList().containsExactly("Sword of Honour", "Moby Dick", "The Lord of the Rings");
+    }
+
+    @Test
+    public void read_all_is_keyed_by_path() {
+        JsonPath authors = JsonPath.compile("$.store.book[*].author");
+        JsonPath color = JsonPath.compile("$.store.bicycle.color");
+
+        Map<String, Object> results = JsonPath.parse(JSON_DOCUMENT).readAll(authors, color);
+
+        assertThat(results).hasSize(2);
+        assertThat(results.get(authors.getPath())).asList().containsExactly("Nigel Rees", "Evelyn Waugh", "Herman Melville", "J. R. R. Tolkien");
+        assertThat(results.get(color.getPath())).isEqualTo("red");
+    }
+
+    @Test
+    public void paths_with_the_same_key_are_rejected() {
+        JsonPath[][] batches = {
+                {JsonPath.compile("$.store.book[?(@.isbn)]"), JsonPath.compile("$.store.book[?(@.price > 10)]")},
+                {JsonPath.compile("$.store.bicycle.color"), JsonPath.compile("$['store']['bicycle']['color']")}
+        };
+        for (JsonPath[] paths : batches) {
+            try {
+                JsonPathBatch.of(paths);
+                fail("Should throw " + IllegalArgumentException.class.getName());
+            } catch (IllegalArgumentException expected) {
+            }
+            try {
+                JsonPath.parse(JSON_DOCUMENT).readAll(paths);
+                fail("Should throw " + IllegalArgumentException.class.getName());
+            } catch (IllegalArgumentException expected) {
+            }
+            try {
+                JsonPath.parse(JSON_DOCUMENT).limit(1).readAll(paths);
+                fail("Should throw " + IllegalArgumentException.class.getName());
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+    }
+
+    @Test
+    public void batch_stream_read_returns_results_of_all_paths() throws Exception {
+        String[] paths = {
+                "$.store.book[*].author",
+                "$.store.book[?(@.isbn)].title",
+                "$.store.bicycle.color",
+                "$..display-price",
+                "$.store.book.length()",
+                "$.missing"
+        };
+        Configuration conf = Configuration.builder().options(Option.SUPPRESS_EXCEPTIONS).build();
+
+        Map<String, Object> expected = JsonPath.compileBatch(paths).read(JSON_DOCUMENT, conf);
+        Map<String, Object> actual = JsonPath.compileBatch(paths).readStream(stream(JSON_DOCUMENT), conf);
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    public void batch_stream_read_stops_when_all_definite_paths_are_found() throws Exception {
+        String json = "{\"a\" : {\"b\" : 1, \"c\" : [1, 2, 3]}, \"d\" : this is not json";
+
+        Map<String, Object> results = JsonPath.compileBatch("$.a.b", "$.a.c[1]").readStream(stream(json), Configuration.defaultConfiguration());
+
+        assertThat(results.get("$.a.b")).isEqualTo(1);
+        assertThat(results.get("$.a.c[1]")).isEqualTo(2);
+    }
+
+    @Test
+    public void batch_stream_read_reads_until_indefinite_paths_are_done() throws Exception {
+        String json = "{\"a\" : {\"b\" : 1}, \"d\" : this is not json";
+
+        try {
+            JsonPath.compileBatch("$.a.b", "$..x").readStream(stream(json), Configuration.defaultConfiguration());
+            fail("Should throw " + InvalidJsonException.class.getName());
+        } catch (InvalidJsonException e) {
+        }
+    }
+
+    @Test
+    public void batch_paths_are_given_keys() {
+        List<String> paths = JsonPath.compileBatch("$.a", "$['b']").getPaths();
+
+        assertThat(paths).containsExactly("$.a", "$['b']");
+    }
+
+    private static ByteArrayInputStream stream(String json) throws UnsupportedEncodingException {
+        return new ByteArrayInputStream(json.getBytes("UTF-8"));
+    }
+}
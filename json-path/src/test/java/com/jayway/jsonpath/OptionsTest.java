@@ -2,10 +2,12 @@ package com.jayway.jsonpath;
 
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.jayway.jsonpath.JsonPath.using;
 import static com.jayway.jsonpath.Option.*;
@@ -161,4 +163,98 @@ public class OptionsTest extends BaseTest {
 
         assertThat(result2).containsExactly(null, null, "0-553-21311-3", "0-395-19395-8");
     }
+
+    @Test
+    public void derived_configurations_are_reused() {
+        Configuration conf = Configuration.defaultConfiguration().addOptions(SUPPRESS_EXCEPTIONS);
+
+        Configuration withPathList = conf.addOptions(AS_PATH_LIST);
+
+        assertThat(withPathList.getOptions()).containsOnly(SUPPRESS_EXCEPTIONS, AS_PATH_LIST);
+        assertThat(conf.addOptions(AS_PATH_LIST)).isSameAs(withPathList);
+        assertThat(withPathList.addOptions(AS_PATH_LIST)).isSameAs(withPathList);
+        assertThat(conf.addOptions(AS_PATH_LIST, ALWAYS_RETURN_LIST).getOptions()).containsOnly(SUPPRESS_EXCEPTIONS, AS_PATH_LIST, ALWAYS_RETURN_LIST);
+    }
+
+    @Test
+    public void exists_checks_ignore_the_options_of_the_configuration() {
+        Configuration conf = JSON_SMART_CONFIGURATION.addOptions(SUPPRESS_EXCEPTIONS, DEFAULT_PATH_LEAF_TO_NULL);
+
+        List<Object> result = using(conf).parse("[{\"a\" : {\"b\" : 1}}, {\"a\" : {}}]").read("$[?(@.a.b)]");
+
+        assertThat(result).hasSize(1);
+    }
+
+    @Test
+    public void parallel_filters_return_results_in_array_order() {
+        StringBuilder json = new StringBuilder("{\"limit\" : 3000, \"items\" : [");
+        for (int i = 0; i < 5000; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"id\" : ").append(i).append(", \"even\" : ").append(i % 2 == 0).append("}");
+        }
+        json.append("]}");
+        String path = "$.items[?(@.even == true && @.id < $.limit)].id";
+
+        for (Configuration conf : Configurations.configurations()) {
+            Object document = conf.jsonProvider().parse(json.toString());
+            Configuration parallel = conf.addOptions(PARALLEL_FILTER);
+
+            assertThat(using(parallel).parse(document).read(path).toString())
+                    .isEqualTo(using(conf).parse(document).read(path).toString());
+        }
+        List<String> paths = using(JSON_SMART_CONFIGURATION.addOptions(PARALLEL_FILTER, AS_PATH_LIST)).parse(json.toString()).read(path);
+
+        assertThat(paths).hasSize(1500).startsWith("$['items'][0]['id']", "$['items'][2]['id']");
+    }
+
+    @Test
+    public void parallel_filters_propagate_exceptions() {
+        List<Integer> items = new ArrayList<Integer>();
+        for (int i = 0; i < 5000; i++) {
+            items.add(i);
+        }
+        final AtomicInteger running = new AtomicInteger();
+        Filter failing = Filter.filter(new Predicate() {
+            @Override
+            public boolean apply(PredicateContext ctx) {
+                running.incrementAndGet();
+                try {
+                    if (ctx.item().equals(4000)) {
+                        throw new IllegalStateException("failed on 4000");
+                    }
+                    return true;
+                } finally {
+                    running.decrementAndGet();
+                }
+            }
+        });
+        Configuration conf = JSON_SMART_CONFIGURATION.addOptions(PARALLEL_FILTER);
+
+        try {
+            using(conf).parse(items).read("$[?]", failing);
+            fail("expected exception");
+        } catch (IllegalStateException e) {
+            assertThat(e).hasMessage("failed on 4000");
+            assertThat(running.get()).isEqualTo(0);
+        }
+    }
+
+    @Test
+    public void limited_parallel_filters_stop_at_the_limit() {
+        List<Integer> items = new ArrayList<Integer>();
+        for (int i = 0; i < 5000; i++) {
+            items.add(i);
+        }
+        final AtomicInteger evaluated = new AtomicInteger();
+        Filter counting = Filter.filter(new Predicate() {
+            @Override
+            public boolean apply(PredicateContext ctx) {
+                evaluated.incrementAndGet();
+                return true;
+            }
+        });
+        Configuration conf = JSON_SMART_CONFIGURATION.addOptions(PARALLEL_FILTER);
+
+        assertThat(using(conf).parse(items).limit(2).read("$[?]", List.class, counting)).containsExactly(0, 1);
+        assertThat(evaluated.get()).isEqualTo(2);
+    }
 }
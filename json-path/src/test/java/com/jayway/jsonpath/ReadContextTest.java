@@ -3,6 +3,9 @@ package com.jayway.jsonpath;
 import org.assertj.core.api.Assertions;
 import org.junit.Test;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static com.jayway.jsonpath.JsonPath.using;
 
 public class ReadContextTest extends BaseTest {
@@ -23,4 +26,102 @@ public class ReadContextTest extends BaseTest {
         Assertions.assertThat(jsonString4).isEqualTo(expected);
     }
 
+    @Test
+    public void the_first_match_can_be_read() {
+        DocumentContext context = using(JSON_SMART_CONFIGURATION).parse(JSON_DOCUMENT);
+
+        Assertions.assertThat(context.<String>readFirst("$..title")).isEqualTo("Sayings of the Century");
+        Assertions.assertThat(context.<String>readFirst("$.store.book[1].title")).isEqualTo("Sword of Honour");
+        Assertions.assertThat(context.<Object>readFirst("$..book[?(@['display-price'] > 10)]")).isEqualTo(context.read("$.store.book[1]"));
+        Assertions.assertThat(using(JSON_SMART_CONFIGURATION.addOptions(Option.AS_PATH_LIST)).parse(JSON_DOCUMENT).<String>readFirst("$..isbn"))
+                .isEqualTo("$['store']['book'][2]['isbn']");
+        Assertions.assertThat(using(JSON_SMART_CONFIGURATION.addOptions(Option.SUPPRESS_EXCEPTIONS)).parse(JSON_DOCUMENT).<Object>readFirst("$..missing"))
+                .isNull();
+    }
+
+    @Test
+    public void reading_the_first_match_of_a_function_checks_the_options_as_read_does() {
+        for (Option option : new Option[]{Option.AS_PATH_LIST, Option.ALWAYS_RETURN_LIST}) {
+            DocumentContext context = using(JSON_SMART_CONFIGURATION.addOptions(option)).parse(JSON_DOCUMENT);
+            try {
+                context.readFirst("$.store.book.length()");
+                Assertions.fail("Should throw " + JsonPathException.class.getName());
+            } catch (JsonPathException e) {
+                try {
+                    context.read("$.store.book.length()");
+                    Assertions.fail("Should throw " + JsonPathException.class.getName());
+                } catch (JsonPathException expected) {
+                    Assertions.assertThat(e).hasMessage(expected.getMessage());
+                }
+            }
+            Assertions.assertThat(using(JSON_SMART_CONFIGURATION.addOptions(option, Option.SUPPRESS_EXCEPTIONS)).parse(JSON_DOCUMENT)
+                    .<Object>readFirst("$.store.book.length()")).isNull();
+        }
+    }
+
+    @Test(expected = PathNotFoundException.class)
+    public void reading_the_first_match_of_a_path_without_matches_fails() {
+        using(JSON_SMART_CONFIGURATION).parse(JSON_DOCUMENT).readFirst("$..missing");
+    }
+
+    @Test
+    public void limited_reads_stop_evaluating_filters_once_enough_results_are_found() {
+        final AtomicInteger evaluated = new AtomicInteger();
+        Predicate counting = new Predicate() {
+            @Override
+            public boolean apply(PredicateContext ctx) {
+                evaluated.incrementAndGet();
+                return true;
+            }
+        };
+        DocumentContext context = using(JSON_SMART_CONFIGURATION).parse(JSON_DOCUMENT);
+
+        Assertions.assertThat(context.limit(2).read("$..book[?]", List.class, counting)).hasSize(2);
+        Assertions.assertThat(evaluated.get()).isEqualTo(2);
+
+        evaluated.set(0);
+        Assertions.assertThat(context.<Object>readFirst("$.store.book[?]", counting)).isEqualTo(context.read("$.store.book[0]"));
+        Assertions.assertThat(evaluated.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void matches_can_be_counted() {
+        DocumentContext context = using(JSON_SMART_CONFIGURATION).parse(JSON_DOCUMENT);
+
+        Assertions.assertThat(context.count("$..book[*]")).isEqualTo(4);
+        Assertions.assertThat(context.count("$..isbn")).isEqualTo(2);
+        Assertions.assertThat(context.count("$.store.bicycle.color")).isEqualTo(1);
+        Assertions.assertThat(context.count("$.store.bicycle.missing")).isEqualTo(0);
+        Assertions.assertThat(context.count("$..missing")).isEqualTo(0);
+        Assertions.assertThat(context.limit(3).count("$..book[*]")).isEqualTo(3);
+        Assertions.assertThat(context.count("$..book.length()")).isEqualTo(1);
+    }
+
+    @Test
+    public void existence_of_matches_can_be_checked() {
+        DocumentContext context = using(JSON_SMART_CONFIGURATION).parse(JSON_DOCUMENT);
+
+        Assertions.assertThat(context.exists("$..isbn")).isTrue();
+        Assertions.assertThat(context.exists("$.store.book[?(@['display-price'] > 10)]")).isTrue();
+        Assertions.assertThat(context.exists("$.store.book[?(@['display-price'] > 1000)]")).isFalse();
+        Assertions.assertThat(context.exists("$.store.bicycle.missing")).isFalse();
+        Assertions.assertThat(using(JSON_SMART_CONFIGURATION.addOptions(Option.DEFAULT_PATH_LEAF_TO_NULL)).parse(JSON_DOCUMENT)
+                .exists("$.store.bicycle.missing")).isTrue();
+    }
+
+    @Test
+    public void existence_checks_stop_at_the_first_match() {
+        final AtomicInteger evaluated = new AtomicInteger();
+        Predicate counting = new Predicate() {
+            @Override
+            public boolean apply(PredicateContext ctx) {
+                evaluated.incrementAndGet();
+                return true;
+            }
+        };
+        DocumentContext context = using(JSON_SMART_CONFIGURATION).parse(JSON_DOCUMENT);
+
+        Assertions.assertThat(context.exists("$.store.book[?]", counting)).isTrue();
+        Assertions.assertThat(evaluated.get()).isEqualTo(1);
+    }
 }
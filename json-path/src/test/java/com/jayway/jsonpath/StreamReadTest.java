@@ -0,0 +1,185 @@
+package com.jayway.jsonpath;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StreamReadTest extends BaseTest {
+
+    private static final String[] PATHS = {
+            "$",
+            "$.store.book[1].author",
+            "$.store.book[*].author",
+            "$.store.book[1,3].title",
+            "$.store.book[1:].title",
+            "$.store.book[:2].title",
+            "$.store.book[1:3].title",
+            "$.store.book[-2:].title",
+            "$.store.*",
+            "$.store.bicycle['color','display-price']",
+            "$.store.book[*]['author','title']",
+            "$..display-price",
+            "$..book[0].title",
+            "$.store.book[?(@.isbn)].title",
+            "$.store.book[?(@.display-price < 10)]",
+            "$..book[?(@.category == 'fiction')].author",
+            "$.store.book.length()",
+            "$.missing",
+            "$.store.book[10].title"
+    };
+
+    private static final String TYPES_DOCUMENT = "{\"null\" : null, \"int\" : 1, \"long\" : 12345678901, " +
+            "\"big\" : 123456789012345678901234567890, \"double\" : 1.5, \"exp\" : 1e3, \"true\" : true, " +
+            "\"string\" : \"a \\\"quoted\\\" text\", \"array\" : [null, 1, 2.5, {\"x\" : null}], " +
+            "\"object\" : {\"null\" : null, \"double\" : 0.1}}";
+
+    private static final String[] TYPES_PATHS = {
+            "$.null",
+            "$.int",
+            "$.long",
+            "$.big",
+            "$.double",
+            "$.exp",
+            "$.true",
+            "$.string",
+            "$.array",
+            "$.array[0]",
+            "$.array[1]",
+            "$.array[*]",
+            "$.object",
+            "$.array.*",
+            "$..null",
+            "$..x",
+            "$..double",
+            "$.array[?(@.x == null)]"
+    };
+
+    @Test
+    public void stream_read_returns_same_results_as_document_read() {
+        for (Configuration conf : new Configuration[]{JSON_SMART_CONFIGURATION, JACKSON_CONFIGURATION}) {
+            for (String path : PATHS) {
+                Configuration suppressing = conf.addOptions(Option.SUPPRESS_EXCEPTIONS);
+                Object expected = JsonPath.compile(path).read(JSON_DOCUMENT, suppressing);
+                Object actual = JsonPath.compile(path).readStream(stream(JSON_DOCUMENT), suppressing);
+
+                assertThat(actual).as(path).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    public void stream_read_returns_values_of_the_json_provider() {
+        for (Configuration conf : Configurations.configurations()) {
+            for (String path : TYPES_PATHS) {
+                String description = path + " " + conf.jsonProvider().getClass().getSimpleName();
+                String expected = rendered(JsonPath.compile(path), conf.jsonProvider().parse(TYPES_DOCUMENT), null, conf);
+                String actual = rendered(JsonPath.compile(path), null, stream(TYPES_DOCUMENT), conf);
+
+                assertThat(actual).as(description).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Test
+    public void stream_read_returns_paths() {
+        Configuration conf = Configuration.builder().options(Option.AS_PATH_LIST).build();
+
+        List<String> paths = JsonPath.compile("$..book[?(@.isbn)].title").readStream(stream(JSON_DOCUMENT), conf);
+
+        assertThat(paths).containsExactly("$['store']['book'][2]['title']", "$['store']['book'][3]['title']");
+    }
+
+    @Test
+    public void definite_path_stops_reading_when_found() {
+        String json = "{\"a\" : {\"b\" : 1}, \"c\" : this is not json";
+
+        Integer result = JsonPath.compile("$.a.b").readStream(stream(json), Configuration.defaultConfiguration());
+
+        assertThat(result).isEqualTo(1);
+    }
+
+    @Test
+    public void non_matching_values_are_skipped() {
+        String json = "{\"a\" : [1, {\"x\" : [2]}], \"b\" : {\"c\" : {\"d\" : 3}}, \"e\" : {\"d\" : 4}}";
+
+        List<Integer> result = JsonPath.compile("$..d").readStream(stream(json), Configuration.defaultConfiguration());
+
+        assertThat(result).containsExactly(3, 4);
+    }
+
+    @Test(expected = PathNotFoundException.class)
+    public void missing_definite_property_throws() {
+        JsonPath.compile("$.store.missing.title").readStream(stream(JSON_DOCUMENT), Configuration.defaultConfiguration());
+    }
+
+    @Test(expected = PathNotFoundException.class)
+    public void property_on_array_in_definite_path_throws() {
+        JsonPath.compile("$.store.book.title").readStream(stream(JSON_DOCUMENT), Configuration.defaultConfiguration());
+    }
+
+    @Test(expected = InvalidJsonException.class)
+    public void invalid_json_throws_even_if_exceptions_are_suppressed() {
+        Configuration conf = Configuration.builder().options(Option.SUPPRESS_EXCEPTIONS).build();
+
+        JsonPath.compile("$..foo").readStream(stream("{\"a\" : [1, "), conf);
+    }
+
+    @Test
+    public void filter_referring_to_root_is_evaluated_on_document() {
+        List<String> titles = JsonPath.compile("$.store.book[?(@.display-price < $.max-price)].title")
+                .readStream(stream(JSON_DOCUMENT), Configuration.defaultConfiguration());
+
+        assertThat(titles).containsExactly("Sayings of the Century", "Moby Dick");
+    }
+
+    @Test
+    public void stream_is_closed() {
+        final boolean[] closed = {false};
+        InputStream is = new ByteArrayInputStream(JSON_DOCUMENT.getBytes()) {
+            @Override
+            public void close() throws IOException {
+                closed[0] = true;
+                super.close();
+            }
+        };
+
+        String author = JsonPath.compile("$.store.book[0].author").readStream(is, Configuration.defaultConfiguration());
+
+        assertThat(author).isEqualTo("Nigel Rees");
+        assertThat(closed[0]).isTrue();
+    }
+
+    @Test
+    public void stream_is_read_using_charset() throws Exception {
+        byte[] json = "{\"name\" : \"åäö\"}".getBytes("ISO-8859-1");
+
+        String name = JsonPath.compile("$.name").readStream(new ByteArrayInputStream(json), "ISO-8859-1", Configuration.defaultConfiguration());
+
+        assertThat(name).isEqualTo("åäö");
+    }
+
+    /**
+     * Not all providers implement equals, the result is compared by its string and class.
+     */
+    private static String rendered(JsonPath path, Object document, InputStream stream, Configuration conf) {
+        try {
+            Object result = stream == null ? path.read(document, conf) : path.readStream(stream, conf);
+            return result + (result == null ? "" : " " + result.getClass().getName());
+        } catch (RuntimeException e) {
+            return e.getClass().getName();
+        }
+    }
+
+    private static InputStream stream(String json) {
+        try {
+            return new ByteArrayInputStream(json.getBytes("UTF-8"));
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
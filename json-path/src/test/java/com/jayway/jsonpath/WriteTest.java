@@ -1,5 +1,6 @@
 package com.jayway.jsonpath;
 
+import com.jayway.jsonpath.spi.cache.CacheProvider;
 import org.junit.Test;
 
 import java.io.InputStream;
@@ -309,6 +310,16 @@ public class WriteTest extends BaseTest {
         }
     }
 
+    @Test
+    public void write_paths_are_cached() {
+        Object o = parse(JSON_DOCUMENT).set("$.store.bicycle.color", "blue").set(" $.store.bicycle.color", "green").json();
+
+        JsonPath cached = CacheProvider.getWriteCache().get("$.store.bicycle.color");
+
+        assertThat(cached).isNotNull();
+        assertThat(cached.<String>read(o)).isEqualTo("green");
+    }
+
     // Helper converter implementation for test cases.
     private class ToStringMapFunction implements MapFunction {
 
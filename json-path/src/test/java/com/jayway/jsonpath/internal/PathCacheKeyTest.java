@@ -0,0 +1,39 @@
+package com.jayway.jsonpath.internal;
+
+import com.jayway.jsonpath.Criteria;
+import com.jayway.jsonpath.Filter;
+import com.jayway.jsonpath.Predicate;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PathCacheKeyTest {
+
+    private final Filter filter = Filter.filter(Criteria.where("a").eq(1));
+
+    @Test
+    public void path_without_filters_is_its_own_key() {
+        String path = "$.a.b";
+
+        assertThat(PathCacheKey.of(path)).isSameAs(path);
+        assertThat(PathCacheKey.of(path, (Predicate[]) null)).isSameAs(path);
+    }
+
+    @Test
+    public void keys_with_same_filter_instances_are_equal() {
+        Object key = PathCacheKey.of("$[?]", filter);
+        Object other = PathCacheKey.of("$[?]", filter);
+
+        assertThat(key).isEqualTo(other);
+        assertThat(key.hashCode()).isEqualTo(other.hashCode());
+    }
+
+    @Test
+    public void keys_with_different_filter_instances_are_not_equal() {
+        Filter equalFilter = Filter.filter(Criteria.where("a").eq(1));
+
+        assertThat(PathCacheKey.of("$[?]", filter)).isNotEqualTo(PathCacheKey.of("$[?]", equalFilter));
+        assertThat(PathCacheKey.of("$[?]", filter)).isNotEqualTo(PathCacheKey.of("$[?][?]", filter, filter));
+        assertThat(PathCacheKey.of("$[?]", filter)).isNotEqualTo(PathCacheKey.of("$.x[?]", filter));
+    }
+}
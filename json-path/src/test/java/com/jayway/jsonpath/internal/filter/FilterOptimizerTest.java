@@ -0,0 +1,137 @@
+package com.jayway.jsonpath.internal.filter;
+
+import com.jayway.jsonpath.BaseTest;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.Predicate;
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.internal.path.PredicateContextImpl;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FilterOptimizerTest extends BaseTest {
+
+    @Test
+    public void cheap_operands_are_evaluated_first() {
+        assertThat(optimized("[?(@.tags contains 'x' && @.active == true)]"))
+                .isEqualTo("(@['active'] == true && @['tags'] CONTAINS 'x')");
+        assertThat(optimized("[?(@.a =~ /x/ || $.b == 1 || @..c == 1 || @.d == 1)]"))
+                .isEqualTo("(@['d'] == 1 || @..['c'] == 1 || $['b'] == 1 || @['a'] =~ /x/)");
+    }
+
+    @Test
+    public void operands_of_equal_cost_keep_their_order() {
+        assertThat(optimized("[?(@.b == 1 && @.a == 2 && @.c == 3)]")).isEqualTo("(@['b'] == 1 && @['a'] == 2 && @['c'] == 3)");
+    }
+
+    @Test
+    public void constant_expressions_are_folded() {
+        assertThat(optimized("[?(1 == 2 && @.a == 1)]")).isEqualTo("false");
+        assertThat(optimized("[?(1 == 1 || @.a == 1)]")).isEqualTo("true");
+        assertThat(optimized("[?(1 == 1 && @.a == 1)]")).isEqualTo("@['a'] == 1");
+        assertThat(optimized("[?('a' =~ /b/ || @.a == 1 || 2 < 1)]")).isEqualTo("@['a'] == 1");
+    }
+
+    @Test
+    public void nested_chains_are_flattened_and_repeated_operands_removed() {
+        assertThat(optimized("[?(@.a == 1 && (@.b == 2 && @.a == 1))]")).isEqualTo("(@['a'] == 1 && @['b'] == 2)");
+        assertThat(optimized("[?(@.a == 1 && (@.b == 2 || @.c == 3))]")).isEqualTo("(@['a'] == 1 && (@['b'] == 2 || @['c'] == 3))");
+    }
+
+    @Test
+    public void operands_are_only_removed_if_they_are_the_same() {
+        assertThat(optimized("[?(@.a[?(@.x)] && @.a[?(@.y)])]")).isEqualTo("(@['a'][?] && @['a'][?])");
+        assertThat(optimized("[?(@.a[?(@.x)] && @.a[?(@.x)])]")).isEqualTo("@['a'][?]");
+        assertThat(optimized("[?(@.a == '1' || @.a == 1)]")).isEqualTo("(@['a'] == '1' || @['a'] == 1)");
+    }
+
+    @Test
+    public void optimized_filters_evaluate_as_written() {
+        String[] filters = {
+                "[?(@.tags contains 'x' && @.active == true)]",
+                "[?(@.a =~ /x/ || $.b == 1 || @..c == 1 || @.d == 1)]",
+                "[?(@.a == 1 && (@.b == 2 || @.c == 3) && @.a == 1)]",
+                "[?(1 == 1 && @.a == 1 || 2 < 1)]"
+        };
+        Object[] items = {
+                json("{\"tags\" : [\"x\"], \"active\" : true, \"a\" : 1, \"b\" : 2}"),
+                json("{\"tags\" : [\"y\"], \"active\" : true, \"a\" : \"x\", \"c\" : 3}"),
+                json("{\"active\" : false, \"a\" : 1, \"d\" : 1, \"c\" : 3}"),
+                json("{\"b\" : 1}")
+        };
+        for (String filter : filters) {
+            Predicate predicate = FilterCompiler.parse(filter);
+            Predicate optimized = FilterOptimizer.optimize(predicate);
+            for (Object item : items) {
+                Predicate.PredicateContext ctx = createPredicateContext(item);
+
+                assertThat(optimized.apply(ctx)).as(filter + " " + item).isEqualTo(predicate.apply(ctx));
+            }
+        }
+    }
+
+    @Test
+    public void adaptive_ordering_moves_decisive_operands_first() {
+        OrderedLogicalExpressionNode node = (OrderedLogicalExpressionNode) FilterOptimizer.optimize(
+                (ExpressionNode) FilterCompiler.parse("[?(@.a == 1 && @.b == 1)]"));
+        Configuration configuration = Configuration.defaultConfiguration().addOptions(Option.ADAPTIVE_FILTER_ORDERING);
+        Object item = json("{\"a\" : 1, \"b\" : 2}");
+        Predicate.PredicateContext ctx = new PredicateContextImpl(item, item, configuration, new HashMap<Path, Object>());
+
+        for (int i = 0; i < OrderedLogicalExpressionNode.REORDER_INTERVAL; i++) {
+            assertThat(node.apply(ctx)).isFalse();
+        }
+
+        assertThat(node.selectivity(0)).isEqualTo(0.0);
+        assertThat(node.selectivity(1)).isEqualTo(1.0);
+        assertThat(node.getAdaptiveOperands().toString()).isEqualTo("[@['b'] == 1, @['a'] == 1]");
+        assertThat(node.getOperands().toString()).isEqualTo("[@['a'] == 1, @['b'] == 1]");
+    }
+
+    @Test
+    public void adaptive_statistics_are_shared_by_concurrent_evaluations() throws Exception {
+        final OrderedLogicalExpressionNode node = (OrderedLogicalExpressionNode) FilterOptimizer.optimize(
+                (ExpressionNode) FilterCompiler.parse("[?(@.a == 1 && @.b == 1)]"));
+        Configuration configuration = Configuration.defaultConfiguration().addOptions(Option.ADAPTIVE_FILTER_ORDERING);
+        Object item = json("{\"a\" : 1, \"b\" : 2}");
+        final Predicate.PredicateContext ctx = new PredicateContextImpl(item, item, configuration, new HashMap<Path, Object>());
+        final int evaluations = 4 * OrderedLogicalExpressionNode.REORDER_INTERVAL;
+        final AtomicInteger failures = new AtomicInteger();
+
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < evaluations; i++) {
+                        if (node.apply(ctx)) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                }
+            };
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(failures.get()).isEqualTo(0);
+        // @.b is evaluated by every evaluation, before and after the reorder
+        assertThat(node.evaluations(1)).isEqualTo(threads.length * evaluations);
+        assertThat(node.selectivity(1)).isEqualTo(1.0);
+        assertThat(node.getAdaptiveOperands().toString()).isEqualTo("[@['b'] == 1, @['a'] == 1]");
+    }
+
+    private static String optimized(String filter) {
+        return FilterOptimizer.optimize(FilterCompiler.parse(filter)).toString();
+    }
+
+    private static Object json(String json) {
+        return Configuration.defaultConfiguration().jsonProvider().parse(json);
+    }
+}
@@ -0,0 +1,49 @@
+package com.jayway.jsonpath.internal.filter;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NumberNodeTest {
+
+    private static final Object[] NUMBERS = {
+            0, 1, -1, 10, Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE + 1,
+            (1L << 53) - 1, 1L << 53, (1L << 53) + 1, -(1L << 53), (short) 10, (byte) -3,
+            0.0, -0.0, 0.1, 0.3, 0.1 + 0.2, 9.99, 10.0, 1e20, 1e-20, -1e300, 9.007199254740992E15, 9.223372036854776E18,
+            Double.MAX_VALUE, Double.MIN_VALUE, 10.5f, new BigDecimal("10.00"), new BigDecimal("0.10000000000000000001"),
+            new BigInteger("9223372036854775808"),
+            "10", "10.0", "-0", "1.50", "1e20", "0.30000000000000004", "9223372036854775807", "-9223372036854775809",
+            "9007199254740993", "1e400"
+    };
+
+    @Test
+    public void numbers_compare_as_their_decimal_representation() {
+        for (Object a : NUMBERS) {
+            for (Object b : NUMBERS) {
+                int expected = Integer.signum(decimal(a).compareTo(decimal(b)));
+
+                assertThat(Integer.signum(node(a).compareTo(node(b)))).as(a + " compared to " + b).isEqualTo(expected);
+                assertThat(node(a).equals(node(b))).as(a + " equals " + b).isEqualTo(expected == 0);
+            }
+        }
+    }
+
+    @Test
+    public void string_representation_is_the_decimal_representation() {
+        for (Object n : NUMBERS) {
+            assertThat(node(n).toString()).isEqualTo(decimal(n).toString());
+            assertThat(node(n).getNumber()).isEqualTo(decimal(n));
+        }
+    }
+
+    private static BigDecimal decimal(Object n) {
+        return new BigDecimal(n.toString());
+    }
+
+    private static ValueNode.NumberNode node(Object n) {
+        return n instanceof Number ? ValueNode.NumberNode.of((Number) n) : ValueNode.createNumberNode((String) n);
+    }
+}
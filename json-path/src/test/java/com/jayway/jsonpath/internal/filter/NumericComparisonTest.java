@@ -0,0 +1,86 @@
+package com.jayway.jsonpath.internal.filter;
+
+import com.jayway.jsonpath.BaseTest;
+import com.jayway.jsonpath.Predicate;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NumericComparisonTest extends BaseTest {
+
+    private static final Object[] VALUES = {
+            0, 1, -1, 10, 11, Integer.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, (short) 10, (byte) 10,
+            0.0, -0.0, 0.1, 0.3, 0.1 + 0.2, 9.99, 10.0, 10.5, 1e20, 1e-20, -1e300, Double.MAX_VALUE, Double.MIN_VALUE,
+            Double.NaN, Double.POSITIVE_INFINITY, 10.0f, new BigDecimal("10.00"), "10", "a", true, null
+    };
+
+    private static final String[] LITERALS = {
+            "10", "10.0", "-0", "0.1", "0.3", "0.30000000000000004", "0.10000000000000000001", "1.5", "1e20",
+            "9223372036854775807", "9223372036854775808", "-9223372036854775809", "1e400"
+    };
+
+    private static final String[] OPERATORS = {"<", "<=", ">", ">=", "==", "!=", "===", "!=="};
+
+    @Test
+    public void compiled_comparisons_are_the_same_as_generic_evaluation() {
+        for (Object value : VALUES) {
+            Map<String, Object> item = new HashMap<String, Object>(Collections.singletonMap("v", value));
+            Predicate.PredicateContext ctx = createPredicateContext(item);
+
+            for (String literal : LITERALS) {
+                ValueNode number = ValueNode.createNumberNode(literal);
+                for (String operator : OPERATORS) {
+                    RelationalOperator relationalOperator = RelationalOperator.fromString(operator);
+                    assertSameAsGeneric(path("@.v"), relationalOperator, number, ctx);
+                    assertSameAsGeneric(number, relationalOperator, path("@.v"), ctx);
+                }
+                assertSameAsGeneric(path("@.missing"), RelationalOperator.LT, number, ctx);
+            }
+        }
+    }
+
+    @Test
+    public void only_comparisons_of_a_path_with_a_number_are_compiled() {
+        ValueNode ten = ValueNode.createNumberNode("10");
+
+        assertThat(compiled(path("@.v"), RelationalOperator.LT, ten)).isNotNull();
+        assertThat(compiled(ten, RelationalOperator.GTE, path("@.v"))).isNotNull();
+        assertThat(compiled(path("@.v"), RelationalOperator.LT, path("@.w"))).isNull();
+        assertThat(compiled(path("@.v"), RelationalOperator.LT, ValueNode.createStringNode("a", false))).isNull();
+        assertThat(compiled(path("@.v"), RelationalOperator.SIZE, ten)).isNull();
+    }
+
+    private static ValueNode path(String path) {
+        return ValueNode.createPathNode(path, false, false);
+    }
+
+    private static NumericComparison compiled(ValueNode left, RelationalOperator operator, ValueNode right) {
+        return NumericComparison.create(left, operator, right, EvaluatorFactory.createEvaluator(operator));
+    }
+
+    private static void assertSameAsGeneric(ValueNode left, RelationalOperator operator, ValueNode right, Predicate.PredicateContext ctx) {
+        RelationalExpressionNode node = new RelationalExpressionNode(left, operator, right);
+
+        Object expected;
+        try {
+            ValueNode l = left.isPathNode() ? left.asPathNode().evaluate(ctx) : left;
+            ValueNode r = right.isPathNode() ? right.asPathNode().evaluate(ctx) : right;
+            expected = EvaluatorFactory.createEvaluator(operator).evaluate(l, r, ctx);
+        } catch (RuntimeException e) {
+            expected = e.getClass();
+        }
+        Object actual;
+        try {
+            actual = node.apply(ctx);
+        } catch (RuntimeException e) {
+            actual = e.getClass();
+        }
+
+        assertThat(actual).as(node + " with " + ctx.item()).isEqualTo(expected);
+    }
+}
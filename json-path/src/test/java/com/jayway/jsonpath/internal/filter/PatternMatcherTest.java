@@ -0,0 +1,43 @@
+package com.jayway.jsonpath.internal.filter;
+
+import org.junit.Test;
+
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PatternMatcherTest {
+
+    private static final String[] PATTERNS = {
+            "abc", "^abc$", "abc.*", "^abc.*", ".*abc", ".*abc$", ".*abc.*", "a\\.c", "a\\\\", "abc\\$", "abc\\.*",
+            "", "^$", ".*", ".*.*", "a.c", "ab?c", "[a]bc", "a|b", "\\d", "é", "ß.*", "\\n", "a\\Qb\\E"
+    };
+
+    private static final String[] STRINGS = {
+            "abc", "ABC", "aBc", "xabc", "abcx", "xabcx", "ab", "a.c", "a\\", "abc$", "abc..", "", "\nabc", "abc\n",
+            "x abc", "abc\r", "É", "é", "ß", "SS", "aKbc", "abcabc", "1", "\n"
+    };
+
+    @Test
+    public void fast_paths_match_like_the_regex_engine() {
+        for (String regex : PATTERNS) {
+            for (int flags : new int[]{0, Pattern.CASE_INSENSITIVE}) {
+                Pattern pattern = Pattern.compile(regex, flags);
+                PatternMatcher matcher = PatternMatcher.of(pattern);
+                for (String string : STRINGS) {
+                    assertThat(matcher.matches(string)).as(pattern + " flags " + flags + " matches " + string)
+                            .isEqualTo(pattern.matcher(string).matches());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void patterns_are_compiled_once() {
+        ValueNode.PatternNode node = ValueNode.createPatternNode("/abc.*/i");
+
+        assertThat(ValueNode.createPatternNode("/abc.*/i").getCompiledPattern()).isSameAs(node.getCompiledPattern());
+        assertThat(ValueNode.createPatternNode("/abc.*/").getCompiledPattern()).isNotSameAs(node.getCompiledPattern());
+        assertThat(node.matches("ABCD")).isTrue();
+    }
+}
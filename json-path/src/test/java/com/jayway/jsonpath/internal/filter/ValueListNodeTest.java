@@ -0,0 +1,60 @@
+package com.jayway.jsonpath.internal.filter;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.Configurations;
+import com.jayway.jsonpath.Predicate;
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.internal.path.PredicateContextImpl;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ValueListNodeTest {
+
+    private static final List<Object> VALUES = Arrays.<Object>asList(
+            0, 1, -1, 10, 10L, Long.MAX_VALUE, Long.MIN_VALUE, 1L << 60, 0.0, -0.0, 0.5, 10.0, 1e20, 1.152921504606847E18,
+            new BigDecimal("10.00"), new BigDecimal("0.50"), new BigDecimal("1E+1"),
+            "10", "10.0", "1E+1", "1e1", "0.5", " 1", "-0", "a", "", "null", "true",
+            true, false, String.class, null
+    );
+
+    @Test
+    public void contains_is_the_same_as_a_linear_search() {
+        ValueNode.ValueListNode list = new ValueNode.ValueListNode(VALUES);
+        for (int i = 0; i < VALUES.size(); i++) {
+            ValueNode.ValueListNode single = new ValueNode.ValueListNode(VALUES.subList(i, i + 1));
+            for (Object value : VALUES) {
+                ValueNode probe = ValueNode.toValueNode(value);
+
+                assertThat(single.contains(probe)).as(VALUES.get(i) + " contains " + value)
+                        .isEqualTo(probe.equals(single.getNodes().get(0)));
+            }
+        }
+        for (Object value : VALUES) {
+            assertThat(list.contains(ValueNode.toValueNode(value))).as(String.valueOf(value)).isTrue();
+        }
+        assertThat(list.contains(ValueNode.toValueNode(11))).isFalse();
+        assertThat(list.contains(ValueNode.toValueNode("b"))).isFalse();
+        assertThat(list.contains(ValueNode.UNDEFINED)).isFalse();
+    }
+
+    @Test
+    public void literal_lists_are_converted_once_per_provider() {
+        ValueNode.JsonNode literal = ValueNode.createJsonNode("[1, 2, \"a\"]");
+        for (Configuration configuration : Configurations.configurations()) {
+            Object item = configuration.jsonProvider().parse("{}");
+            Predicate.PredicateContext ctx = new PredicateContextImpl(item, item, configuration, new HashMap<Path, Object>());
+
+            ValueNode valueList = literal.asValueListNode(ctx);
+
+            assertThat(literal.asValueListNode(ctx)).isSameAs(valueList);
+            assertThat(valueList.asValueListNode().contains(ValueNode.toValueNode(2))).isTrue();
+            assertThat(valueList.asValueListNode().contains(ValueNode.toValueNode("a"))).isTrue();
+        }
+    }
+}
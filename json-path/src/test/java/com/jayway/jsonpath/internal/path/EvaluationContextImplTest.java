@@ -0,0 +1,40 @@
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.BaseTest;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.internal.PathRef;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class EvaluationContextImplTest extends BaseTest {
+
+    @Test
+    public void counting_contexts_do_not_return_results() {
+        for (String path : new String[]{"$..author", "$.store.bicycle.color"}) {
+            CompiledPath compiled = (CompiledPath) PathCompiler.compile(path);
+            Configuration conf = Configuration.defaultConfiguration();
+            Object document = conf.jsonProvider().parse(JSON_DOCUMENT);
+            EvaluationContextImpl ctx = EvaluationContextImpl.counting(compiled, document, conf, Integer.MAX_VALUE, null);
+            compiled.getRoot().evaluate(null, PathRef.NO_OP, document, ctx);
+            assertThat(ctx.getResultCount()).as(path).isGreaterThan(0);
+
+            try {
+                ctx.getValue();
+                fail("Should throw " + IllegalStateException.class.getName());
+            } catch (IllegalStateException expected) {
+            }
+            try {
+                ctx.getPath();
+                fail("Should throw " + IllegalStateException.class.getName());
+            } catch (IllegalStateException expected) {
+            }
+            try {
+                ctx.getPathList();
+                fail("Should throw " + IllegalStateException.class.getName());
+            } catch (IllegalStateException expected) {
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.BaseTest;
+import com.jayway.jsonpath.Criteria;
+import com.jayway.jsonpath.Filter;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Predicate;
+import com.jayway.jsonpath.internal.filter.FilterCompiler;
+import com.jayway.jsonpath.internal.path.PathProgram.Opcode;
+import org.junit.Test;
+
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PathProgramTest extends BaseTest {
+
+    private static PathProgram program(String path, Predicate... filters) {
+        return ((CompiledPath) PathCompiler.compile(path, filters)).getProgram();
+    }
+
+    @Test
+    public void instructions_have_the_operands_of_their_tokens() {
+        PathProgram program = program("$.store.book[1:3][?(@.price)]..author[0,1].length()");
+
+        assertThat(program.length()).isEqualTo(9);
+        assertThat(program.opcode(0)).isEqualTo(Opcode.ROOT);
+        assertThat(program.operand(0).toString()).isEqualTo("$");
+        assertThat(program.opcode(1)).isEqualTo(Opcode.PROPERTY);
+        assertThat((List<?>) program.operand(1)).containsExactly("store");
+        assertThat(program.opcode(3)).isEqualTo(Opcode.SLICE);
+        assertThat(program.operand(3)).isInstanceOf(ArraySliceOperation.class);
+        assertThat(program.opcode(4)).isEqualTo(Opcode.FILTER);
+        assertThat(program.operand(4)).isSameAs(program.token(4));
+        assertThat(program.opcode(5)).isEqualTo(Opcode.SCAN);
+        assertThat(program.operand(5)).isNull();
+        assertThat(program.opcode(7)).isEqualTo(Opcode.INDEX);
+        assertThat(((ArrayIndexOperation) program.operand(7)).indexes()).containsExactly(0, 1);
+        assertThat(program.opcode(8)).isEqualTo(Opcode.TOKEN);
+        assertThat(program.isLeaf(8)).isTrue();
+    }
+
+    @Test
+    public void definiteness_and_string_are_those_of_the_tokens() {
+        for (String path : asList("$.store.book[0].author", "$..author", "$.store['book', 'bicycle']", "@.a[*].b", "$.a.length()")) {
+            CompiledPath compiled = (CompiledPath) PathCompiler.compile(path);
+
+            assertThat(compiled.getProgram().isDefinite()).as(path).isEqualTo(compiled.getRoot().isPathDefinite());
+            assertThat(compiled.toString()).as(path).isEqualTo(compiled.getRoot().toString());
+            assertThat(compiled.hashCode()).as(path).isEqualTo(compiled.toString().hashCode());
+        }
+    }
+
+    @Test
+    public void paths_compiled_from_the_same_string_are_equal() {
+        assertThat(program("$.store.book[*].author")).isEqualTo(program("$['store']['book'][*]['author']"));
+        assertThat(JsonPath.compile("$..book[?(@.price > 10)]")).isEqualTo(JsonPath.compile("$..book[?(@.price > 10)]"));
+        assertThat(JsonPath.compile("$..book[0]").hashCode()).isEqualTo(JsonPath.compile("$..book[0]").hashCode());
+
+        assertThat(JsonPath.compile("$..book[0]")).isNotEqualTo(JsonPath.compile("$..book[1]"));
+        assertThat(JsonPath.compile("$.a")).isNotEqualTo(JsonPath.compile("@.a"));
+    }
+
+    @Test
+    public void paths_with_different_filters_are_not_equal() {
+        Filter filter = Filter.filter(Criteria.where("a").eq(1));
+        Filter equalFilter = Filter.filter(Criteria.where("a").eq(1));
+
+        assertThat(program("$[?]", filter)).isEqualTo(program("$[?]", filter));
+        assertThat(program("$[?]", filter)).isNotEqualTo(program("$[?]", equalFilter));
+        assertThat(JsonPath.compile("$[?(@.a)]")).isNotEqualTo(JsonPath.compile("$[?(@.b)]"));
+        assertThat(JsonPath.compile("$[?(@.a)]").getPath()).isEqualTo(JsonPath.compile("$[?(@.b)]").getPath());
+    }
+
+    @Test
+    public void paths_with_equal_filter_strings_are_equal_when_their_filters_are_compiled_again() {
+        PathProgram program = program("$..book[?(@.price > 10)]");
+        for (int i = 0; i < 1000; i++) {
+            // evicts the filter of the path from the cache of compiled filters
+            FilterCompiler.compile("[?(@.price > " + i + " && @.evicting)]");
+        }
+        PathProgram compiledAgain = program("$..book[?(@.price  >  10)]");
+
+        assertThat(program.opcode(3)).isEqualTo(Opcode.FILTER);
+        assertThat(((PredicatePathToken) compiledAgain.operand(3)).getPredicates().iterator().next())
+                .isNotSameAs(((PredicatePathToken) program.operand(3)).getPredicates().iterator().next());
+        assertThat(compiledAgain).isEqualTo(program);
+        assertThat(compiledAgain.hashCode()).isEqualTo(program.hashCode());
+        assertThat(compiledAgain).isNotEqualTo(program("$..book[?(@.price > 11)]"));
+    }
+}
@@ -0,0 +1,53 @@
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.BaseTest;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.EvaluationListener;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PathSegmentTest extends BaseTest {
+
+    @Test
+    public void segments_are_rendered_as_bracket_notation() {
+        PathSegment root = PathSegment.root("$");
+
+        assertThat(root.toString()).isEqualTo("$");
+        assertThat(root.property("store").property("book").index(0).toString()).isEqualTo("$['store']['book'][0]");
+        assertThat(root.property("book").properties(asList("author", "title")).toString()).isEqualTo("$['book']['author', 'title']");
+    }
+
+    @Test
+    public void segments_sharing_a_parent_are_rendered_independently() {
+        PathSegment book = PathSegment.root("$").property("store").property("book");
+
+        PathSegment first = book.index(0);
+        PathSegment second = book.index(1);
+
+        assertThat(second.toString()).isEqualTo("$['store']['book'][1]");
+        assertThat(first.toString()).isEqualTo("$['store']['book'][0]");
+        assertThat(book.toString()).isEqualTo("$['store']['book']");
+    }
+
+    @Test
+    public void listeners_receive_rendered_paths() {
+        final List<String> paths = new ArrayList<String>();
+        Configuration conf = Configuration.builder().evaluationListener(new EvaluationListener() {
+            @Override
+            public EvaluationContinuation resultFound(FoundResult found) {
+                paths.add(found.path());
+                return EvaluationContinuation.CONTINUE;
+            }
+        }).build();
+
+        JsonPath.using(conf).parse(JSON_DOCUMENT).read("$.store.book[1:3].title");
+
+        assertThat(paths).containsExactly("$['store']['book'][1]['title']", "$['store']['book'][2]['title']");
+    }
+}
@@ -0,0 +1,82 @@
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.Configurations;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.PathNotFoundException;
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PropertyChainTest {
+
+    private static final String JSON = "{" +
+            "\"a\" : 1," +
+            "\"s\" : \"str\"," +
+            "\"n\" : null," +
+            "\"o\" : {\"b\" : {\"c\" : true}, \"n\" : null}," +
+            "\"arr\" : [1, {\"x\" : \"y\"}, null, [3, 4]]" +
+            "}";
+
+    private static final String[] CHAINS = {
+            "@", "@.a", "@['a']", "@.s", "@.n", "@.o", "@.o.b.c", "@.o.n", "@.o.n.x", "@.o.missing", "@.o.missing.x",
+            "@.missing", "@.s.x", "@.n.x", "@.arr[0]", "@.arr[1].x", "@.arr[2]", "@.arr[2].x", "@.arr[3][1]",
+            "@.arr[10]", "@.arr.x", "@.o[0]", "@.s[0]", "@.n[0]", "@.arr[1]['x']"
+    };
+
+    private static final Option[][] OPTIONS = {
+            {},
+            {Option.DEFAULT_PATH_LEAF_TO_NULL},
+            {Option.SUPPRESS_EXCEPTIONS},
+            {Option.REQUIRE_PROPERTIES}
+    };
+
+    @Test
+    public void chain_reads_the_same_value_as_the_path() {
+        for (Configuration configuration : Configurations.configurations()) {
+            Object item = configuration.jsonProvider().parse(JSON);
+            for (Option[] options : OPTIONS) {
+                Configuration conf = configuration.addOptions(options);
+                for (String chain : CHAINS) {
+                    Path path = PathCompiler.compile(chain);
+
+                    Object expected;
+                    try {
+                        expected = unwrap(path.evaluate(item, item, conf).getValue(), conf);
+                    } catch (PathNotFoundException e) {
+                        expected = JsonProvider.UNDEFINED;
+                    } catch (RuntimeException e) {
+                        expected = e.getClass();
+                    }
+                    Object actual;
+                    try {
+                        actual = unwrap(PropertyChain.of(path).read(item, conf), conf);
+                    } catch (RuntimeException e) {
+                        actual = e.getClass();
+                    }
+
+                    assertThat(String.valueOf(actual)).as(chain + " " + conf.jsonProvider().getClass().getSimpleName() + " " + conf.getOptions())
+                            .isEqualTo(String.valueOf(expected));
+                }
+            }
+        }
+    }
+
+    private static Object unwrap(Object value, Configuration conf) {
+        return value == JsonProvider.UNDEFINED ? value : conf.jsonProvider().unwrap(value);
+    }
+
+    @Test
+    public void only_relative_definite_chains_are_supported() {
+        assertThat(PropertyChain.of(PathCompiler.compile("@.a[0].b"))).isNotNull();
+        assertThat(PropertyChain.of(PathCompiler.compile("$.a"))).isNull();
+        assertThat(PropertyChain.of(PathCompiler.compile("@.a[*]"))).isNull();
+        assertThat(PropertyChain.of(PathCompiler.compile("@.a[0,1]"))).isNull();
+        assertThat(PropertyChain.of(PathCompiler.compile("@.a[1:]"))).isNull();
+        assertThat(PropertyChain.of(PathCompiler.compile("@['a','b']"))).isNull();
+        assertThat(PropertyChain.of(PathCompiler.compile("@..a"))).isNull();
+        assertThat(PropertyChain.of(PathCompiler.compile("@.a.length()"))).isNull();
+    }
+}